@@ -0,0 +1,73 @@
+package me.darkakyloff.core.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorUtilsBenchmark
+{
+    private final String[] lines = {
+            "&cНедостаточно прав: <permission>",
+            "&cКоманда доступна только игрокам",
+            "&7[&6Core&7] &aМодуль &e<module> &aперезагружен",
+            "&l&6Задачи: &fактивных <active>&r, в очереди &7<queue>",
+            "&e<label>&7 запусков <runs>, ср <average>, p99 <p99>, макс <max> мс",
+            "&7  команд <commands>, плейсхолдеров <placeholders>, эндпоинтов <endpoints>",
+            "<gold>Уже MiniMessage без legacy-кодов",
+            "Текст без кодов"
+    };
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole)
+    {
+        for (String line : lines)
+        {
+            blackhole.consume(ColorUtils.legacyToMiniMessage(line));
+        }
+    }
+
+    @Benchmark
+    public void replaceChain(Blackhole blackhole)
+    {
+        for (String line : lines)
+        {
+            blackhole.consume(legacyReplaceChain(line));
+        }
+    }
+
+    private static String legacyReplaceChain(String message)
+    {
+        return message
+                .replaceAll("&0", "<black>")
+                .replaceAll("&1", "<dark_blue>")
+                .replaceAll("&2", "<dark_green>")
+                .replaceAll("&3", "<dark_aqua>")
+                .replaceAll("&4", "<dark_red>")
+                .replaceAll("&5", "<dark_purple>")
+                .replaceAll("&6", "<gold>")
+                .replaceAll("&7", "<gray>")
+                .replaceAll("&8", "<dark_gray>")
+                .replaceAll("&9", "<blue>")
+                .replaceAll("&a", "<green>")
+                .replaceAll("&b", "<aqua>")
+                .replaceAll("&c", "<red>")
+                .replaceAll("&d", "<light_purple>")
+                .replaceAll("&e", "<yellow>")
+                .replaceAll("&f", "<white>")
+                .replaceAll("&k", "<obfuscated>")
+                .replaceAll("&l", "<bold>")
+                .replaceAll("&m", "<strikethrough>")
+                .replaceAll("&n", "<underlined>")
+                .replaceAll("&o", "<italic>")
+                .replaceAll("&r", "<reset>");
+    }
+}
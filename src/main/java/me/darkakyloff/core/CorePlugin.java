@@ -2,17 +2,25 @@ package me.darkakyloff.core;
 
 import me.darkakyloff.core.api.command.CommandManager;
 import me.darkakyloff.core.api.config.ConfigurationManager;
+import me.darkakyloff.core.api.database.DatabaseManager;
 import me.darkakyloff.core.api.message.MessageManager;
 import me.darkakyloff.core.api.telegram.TelegramService;
+import me.darkakyloff.core.api.telegram.TelegramState;
 import me.darkakyloff.core.managers.ModuleManager;
 import me.darkakyloff.core.managers.HttpServerManager;
 import me.darkakyloff.core.managers.PlaceholderManager;
+import me.darkakyloff.core.managers.ShutdownCoordinator;
 import me.darkakyloff.core.tasks.AsyncTaskScheduler;
+import me.darkakyloff.core.tasks.StartupTracer;
 import me.darkakyloff.core.utils.LoggerUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public class CorePlugin extends JavaPlugin
 {
     private static CorePlugin instance;
@@ -30,15 +38,21 @@ public class CorePlugin extends JavaPlugin
     {
         instance = this;
 
+        StartupTracer.begin();
+
         LoggerUtils.debug("Запуск плагина Core v2.0...");
 
         if (!initializeCore())
         {
+            StartupTracer.finish(null);
             LoggerUtils.error("Критическая ошибка при инициализации! Отключение плагина...");
             Bukkit.getPluginManager().disablePlugin(this);
             return;
         }
 
+        StartupTracer.finish(configManager.getBoolean("settings.yml", "startup.trace-file", true)
+                ? new File(getDataFolder(), "startup-trace.json") : null);
+
         LoggerUtils.debug("Плагин Core успешно запущен!");
     }
 
@@ -60,16 +74,14 @@ public class CorePlugin extends JavaPlugin
         {
             LoggerUtils.initialize();
 
-            initializeConfigurationManager();
-            initializeMessageManager();
-            initializePlaceholderManager();
-            initializeHttpServerManager();
-            initializeTelegramService();
-            initializeTaskScheduler();
-
-            CommandManager.initialize();
-
-            initializeModuleManager();
+            StartupTracer.trace("config", this::initializeConfigurationManager);
+            StartupTracer.trace("messages", this::initializeMessageManager);
+            StartupTracer.trace("placeholders", this::initializePlaceholderManager);
+            StartupTracer.trace("http", this::initializeHttpServerManager);
+            StartupTracer.trace("telegram", this::initializeTelegramService);
+            StartupTracer.trace("scheduler", this::initializeTaskScheduler);
+            StartupTracer.trace("commands", CommandManager::initialize);
+            StartupTracer.trace("modules", this::initializeModuleManager);
 
             return true;
         }
@@ -85,13 +97,31 @@ public class CorePlugin extends JavaPlugin
     {
         try
         {
-            shutdownModuleManager();
-            shutdownTaskScheduler();
-            shutdownTelegramService();
-            shutdownHttpServerManager();
-            shutdownPlaceholderManager();
+            long timeout = configManager != null ? configManager.getLong("settings.yml", "shutdown.timeout-millis", 10000) : 10000;
+            ShutdownCoordinator coordinator = new ShutdownCoordinator(timeout);
+
+            coordinator.runSync("modules", remaining -> shutdownModuleManager());
+            coordinator.runSync("scheduler", remaining -> shutdownTaskScheduler());
+
+            coordinator.addParallel("telegram", this::shutdownTelegramService);
+            coordinator.addParallel("http", this::shutdownHttpServerManager);
+            coordinator.addParallel("config", remaining -> shutdownConfigurationManager());
+
+            List<DatabaseManager> databaseManagers = DatabaseManager.getInstances();
+
+            for (int i = 0; i < databaseManagers.size(); i++)
+            {
+                DatabaseManager databaseManager = databaseManagers.get(i);
+                coordinator.addParallel("database-" + databaseManager.getOwner() + "-" + (i + 1), databaseManager::shutdown);
+            }
+
+            coordinator.awaitParallel();
+
+            coordinator.runSync("placeholders", remaining -> shutdownPlaceholderManager());
 
             closeAllPlayerInventories();
+
+            coordinator.report();
         }
         catch (Exception exception)
         {
@@ -104,9 +134,14 @@ public class CorePlugin extends JavaPlugin
     {
         configManager = new ConfigurationManager(this);
 
-        configManager.loadConfig("settings.yml");
-        configManager.loadConfig("localization.yml");
-        configManager.loadConfig("database.yml");
+        configManager.loadConfigs(List.of("settings.yml", "localization.yml", "database.yml"));
+
+        configManager.setSaveDelay(configManager.getLong("settings.yml", "config.save-delay-millis", 1000));
+
+        if (configManager.getBoolean("settings.yml", "config.hot-reload.enabled", true))
+        {
+            configManager.startWatching(configManager.getLong("settings.yml", "config.hot-reload.debounce-millis", 500));
+        }
     }
 
     private void initializeMessageManager()
@@ -142,7 +177,21 @@ public class CorePlugin extends JavaPlugin
 
         if (token != null && !token.isEmpty())
         {
-            telegramService = new TelegramService(token);
+            telegramService = new TelegramService(token, configManager.getString("settings.yml", "telegram.api-url"));
+            telegramService.setReconnectBackoff(
+                    configManager.getLong("settings.yml", "telegram.reconnect.initial-delay-millis", 1000),
+                    configManager.getLong("settings.yml", "telegram.reconnect.max-delay-millis", 60000));
+            telegramService.setMaxQueuedMessages(configManager.getInt("settings.yml", "telegram.queue-size", 100));
+
+            CompletableFuture<Void> connected = new CompletableFuture<>();
+            telegramService.addStateListener((previous, current) ->
+            {
+                if (current == TelegramState.CONNECTED) connected.complete(null);
+                else if (current == TelegramState.STOPPED) connected.cancel(false);
+            });
+
+            StartupTracer.defer("telegram-connect", connected);
+
             telegramService.initialize();
         }
         else
@@ -155,6 +204,11 @@ public class CorePlugin extends JavaPlugin
     {
         taskScheduler = new AsyncTaskScheduler(this);
         taskScheduler.startTasks();
+
+        if (messageManager != null)
+        {
+            messageManager.startMaintenance(taskScheduler);
+        }
     }
 
     private void initializeModuleManager()
@@ -163,7 +217,7 @@ public class CorePlugin extends JavaPlugin
         moduleManager.loadAllModules();
     }
 
-    private void shutdownModuleManager()
+    private int shutdownModuleManager()
     {
         if (moduleManager != null)
         {
@@ -171,39 +225,53 @@ public class CorePlugin extends JavaPlugin
         }
 
         CommandManager.shutdown();
+        return 0;
     }
 
-    private void shutdownTaskScheduler()
+    private int shutdownTaskScheduler()
     {
+        if (messageManager != null)
+        {
+            messageManager.stopMaintenance();
+        }
+
         if (taskScheduler != null)
         {
             taskScheduler.stopTasks();
         }
+
+        return 0;
     }
 
-    private void shutdownTelegramService()
+    private int shutdownTelegramService(long timeoutMillis)
     {
-        if (telegramService != null)
-        {
-            telegramService.shutdown();
-        }
+        return telegramService != null ? telegramService.shutdown(timeoutMillis) : 0;
+    }
+
+    private int shutdownHttpServerManager(long timeoutMillis)
+    {
+        return httpServerManager != null ? httpServerManager.stopServer(Math.min(2000, timeoutMillis)) : 0;
     }
 
-    private void shutdownHttpServerManager()
+    private int shutdownConfigurationManager()
     {
-        if (httpServerManager != null)
+        if (configManager != null)
         {
-            httpServerManager.stopServer();
+            configManager.shutdown();
         }
+
+        return 0;
     }
 
-    private void shutdownPlaceholderManager()
+    private int shutdownPlaceholderManager()
     {
         if (placeholderManager != null)
         {
             placeholderManager.shutdown();
             LoggerUtils.debug("Система плейсхолдеров остановлена");
         }
+
+        return 0;
     }
 
     private void closeAllPlayerInventories()
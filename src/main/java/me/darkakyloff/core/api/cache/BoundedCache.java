@@ -0,0 +1,311 @@
+package me.darkakyloff.core.api.cache;
+
+import me.darkakyloff.core.utils.JsonUtils;
+import me.darkakyloff.core.utils.LoggerUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+public class BoundedCache<K, V>
+{
+    private static final Map<String, BoundedCache<?, ?>> registry = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final int windowEntries;
+    private final ToIntFunction<? super V> weigher;
+
+    private final LinkedHashMap<K, Entry<V>> window;
+    private final LinkedHashMap<K, Entry<V>> main;
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private long totalWeight = 0;
+
+    public BoundedCache(String name, int maxEntries)
+    {
+        this(name, maxEntries, maxEntries, value -> 1);
+    }
+
+    public BoundedCache(String name, int maxEntries, long maxWeight, ToIntFunction<? super V> weigher)
+    {
+        this.name = name;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxWeight = Math.max(1, maxWeight);
+        this.windowEntries = Math.max(1, this.maxEntries / 100);
+        this.weigher = weigher;
+
+        this.window = new LinkedHashMap<>(16, 0.75f, true);
+        this.main = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch = new FrequencySketch(this.maxEntries);
+
+        BoundedCache<?, ?> previous = registry.put(name, this);
+
+        if (previous != null && previous != this)
+        {
+            LoggerUtils.debug("Кеш " + name + " зарегистрирован повторно, предыдущий экземпляр заменен");
+        }
+    }
+
+    public V get(K key)
+    {
+        synchronized (this)
+        {
+            sketch.increment(key);
+
+            Entry<V> entry = window.get(key);
+
+            if (entry == null)
+            {
+                entry = main.get(key);
+            }
+
+            if (entry != null)
+            {
+                hits.increment();
+                return entry.value;
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader)
+    {
+        V value = get(key);
+
+        if (value != null) return value;
+
+        value = loader.apply(key);
+
+        if (value != null)
+        {
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    public void put(K key, V value)
+    {
+        int weight = Math.max(0, weigher.applyAsInt(value));
+
+        if (weight > maxWeight)
+        {
+            rejections.increment();
+            return;
+        }
+
+        synchronized (this)
+        {
+            Entry<V> previous = window.remove(key);
+
+            if (previous == null)
+            {
+                previous = main.remove(key);
+            }
+
+            if (previous != null)
+            {
+                totalWeight -= previous.weight;
+            }
+
+            window.put(key, new Entry<>(value, weight));
+            totalWeight += weight;
+
+            evictFromWindow();
+            evictByWeight();
+        }
+    }
+
+    public synchronized void invalidate(K key)
+    {
+        Entry<V> removed = window.remove(key);
+
+        if (removed == null)
+        {
+            removed = main.remove(key);
+        }
+
+        if (removed != null)
+        {
+            totalWeight -= removed.weight;
+        }
+    }
+
+    public synchronized void invalidateAll()
+    {
+        window.clear();
+        main.clear();
+        sketch.clear();
+        totalWeight = 0;
+    }
+
+    public void close()
+    {
+        invalidateAll();
+        registry.remove(name, this);
+    }
+
+    private void evictFromWindow()
+    {
+        while (window.size() > windowEntries)
+        {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = window.entrySet().iterator();
+            Map.Entry<K, Entry<V>> candidate = iterator.next();
+            iterator.remove();
+
+            if (main.size() + window.size() < maxEntries)
+            {
+                main.put(candidate.getKey(), candidate.getValue());
+                continue;
+            }
+
+            Iterator<Map.Entry<K, Entry<V>>> mainIterator = main.entrySet().iterator();
+
+            if (!mainIterator.hasNext())
+            {
+                main.put(candidate.getKey(), candidate.getValue());
+                continue;
+            }
+
+            Map.Entry<K, Entry<V>> victim = mainIterator.next();
+
+            if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey()))
+            {
+                mainIterator.remove();
+                totalWeight -= victim.getValue().weight;
+                main.put(candidate.getKey(), candidate.getValue());
+            }
+            else
+            {
+                totalWeight -= candidate.getValue().weight;
+                rejections.increment();
+            }
+
+            evictions.increment();
+        }
+    }
+
+    private void evictByWeight()
+    {
+        while (totalWeight > maxWeight)
+        {
+            LinkedHashMap<K, Entry<V>> source = main.isEmpty() ? window : main;
+            Iterator<Map.Entry<K, Entry<V>>> iterator = source.entrySet().iterator();
+
+            if (!iterator.hasNext()) return;
+
+            totalWeight -= iterator.next().getValue().weight;
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public synchronized int size()
+    {
+        return window.size() + main.size();
+    }
+
+    public synchronized long getWeight()
+    {
+        return totalWeight;
+    }
+
+    public int getMaxEntries()
+    {
+        return maxEntries;
+    }
+
+    public long getMaxWeight()
+    {
+        return maxWeight;
+    }
+
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    public long getEvictionCount()
+    {
+        return evictions.sum();
+    }
+
+    public long getRejectionCount()
+    {
+        return rejections.sum();
+    }
+
+    public double getHitRate()
+    {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public void resetStats()
+    {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        rejections.reset();
+    }
+
+    public String toJson()
+    {
+        return "{\"name\":" + JsonUtils.quote(name) +
+                ",\"size\":" + size() +
+                ",\"maxEntries\":" + maxEntries +
+                ",\"weight\":" + getWeight() +
+                ",\"maxWeight\":" + maxWeight +
+                ",\"hits\":" + getHitCount() +
+                ",\"misses\":" + getMissCount() +
+                ",\"evictions\":" + getEvictionCount() +
+                ",\"rejections\":" + getRejectionCount() +
+                ",\"hitRate\":" + String.format(Locale.ROOT, "%.4f", getHitRate()) + "}";
+    }
+
+    public static List<BoundedCache<?, ?>> getRegisteredCaches()
+    {
+        List<BoundedCache<?, ?>> caches = new ArrayList<>(registry.values());
+        caches.sort((first, second) -> first.name.compareTo(second.name));
+        return caches;
+    }
+
+    private static final class Entry<V>
+    {
+        private final V value;
+        private final int weight;
+
+        private Entry(V value, int weight)
+        {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package me.darkakyloff.core.api.cache;
+
+import java.util.Arrays;
+
+class FrequencySketch
+{
+    private static final int[] SEEDS = {0x97cb3127, 0xb82f3e6d, 0x2f3c7a13, 0x5bd1e995};
+    private static final int MAX_FREQUENCY = 15;
+
+    private final int[] table;
+    private final int mask;
+    private final int sampleSize;
+
+    private int additions = 0;
+
+    FrequencySketch(int maximumSize)
+    {
+        int capacity = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 24)) * 2 - 1);
+
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        this.sampleSize = capacity * 10;
+    }
+
+    int frequency(Object key)
+    {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+
+        for (int seed : SEEDS)
+        {
+            frequency = Math.min(frequency, table[index(hash, seed)]);
+        }
+
+        return frequency;
+    }
+
+    void increment(Object key)
+    {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+
+        for (int seed : SEEDS)
+        {
+            int index = index(hash, seed);
+
+            if (table[index] < MAX_FREQUENCY)
+            {
+                table[index]++;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize)
+        {
+            reset();
+        }
+    }
+
+    void clear()
+    {
+        Arrays.fill(table, 0);
+        additions = 0;
+    }
+
+    private void reset()
+    {
+        for (int i = 0; i < table.length; i++)
+        {
+            table[i] >>>= 1;
+        }
+
+        additions >>>= 1;
+    }
+
+    private int index(int hash, int seed)
+    {
+        int mixed = (hash ^ seed) * 0x9e3779b9;
+        return (mixed ^ (mixed >>> 16)) & mask;
+    }
+
+    private static int spread(int hash)
+    {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+}
@@ -7,6 +7,7 @@ import me.darkakyloff.core.api.command.annotations.TabCompletes;
 import me.darkakyloff.core.api.message.MessageKeys;
 import me.darkakyloff.core.api.message.MessageManager;
 import me.darkakyloff.core.modules.BaseModule;
+import me.darkakyloff.core.tasks.TickProfiler;
 import me.darkakyloff.core.utils.LoggerUtils;
 import me.darkakyloff.core.utils.PlayerUtils;
 import me.darkakyloff.core.utils.SoundUtils;
@@ -47,6 +48,7 @@ public abstract class BaseCommand extends BukkitCommand
     @Override
     public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args)
     {
+        module.markActive();
         return handleCommand(sender, commandLabel, args);
     }
 
@@ -150,6 +152,11 @@ public abstract class BaseCommand extends BukkitCommand
     private boolean executeAnnotatedCommand(CommandSender sender, String label, String[] args,
                                             Method method, Command annotation)
     {
+        String previousOwner = TickProfiler.enter(module.getName());
+        long start = TickProfiler.start();
+
+        module.markActive();
+
         try
         {
             String fullCommand = buildFullCommand(label, args);
@@ -187,6 +194,11 @@ public abstract class BaseCommand extends BukkitCommand
             LoggerUtils.error("Ошибка выполнения команды: " + method.getName(), exception);
             return false;
         }
+        finally
+        {
+            TickProfiler.finish(module.getName(), TickProfiler.Category.COMMAND, start);
+            TickProfiler.exit(previousOwner);
+        }
     }
 
     private boolean checkArgumentCount(CommandSender sender, String[] args, Command annotation, String fullCommand)
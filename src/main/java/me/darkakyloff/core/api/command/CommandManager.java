@@ -10,6 +10,7 @@ import org.bukkit.command.SimpleCommandMap;
 import org.bukkit.command.defaults.BukkitCommand;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -56,6 +57,7 @@ public class CommandManager
             if (registered)
             {
                 moduleCommands.computeIfAbsent(module, k -> new HashMap<>()).put(command.getName(), command);
+                module.getResources().track("command", "/" + command.getName(), command, () -> unregisterCommand(command));
 
                 LoggerUtils.debug("Команда зарегистрирована: /" + command.getName() + " (модуль: " + module.getName() + ")");
                 return true;
@@ -96,6 +98,14 @@ public class CommandManager
 
             command.unregister(commandMap);
 
+            for (Map.Entry<BaseModule, Map<String, BukkitCommand>> entry : moduleCommands.entrySet())
+            {
+                if (entry.getValue().remove(command.getName(), command))
+                {
+                    entry.getKey().getResources().untrack(command);
+                }
+            }
+
             LoggerUtils.debug("Команда выгружена: /" + command.getName());
             return true;
         }
@@ -123,7 +133,7 @@ public class CommandManager
 
         int unregistered = 0;
 
-        for (BukkitCommand command : commands.values())
+        for (BukkitCommand command : new ArrayList<>(commands.values()))
         {
             if (unregisterCommand(command))
             {
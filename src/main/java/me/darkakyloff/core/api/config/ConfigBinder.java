@@ -0,0 +1,172 @@
+package me.darkakyloff.core.api.config;
+
+import me.darkakyloff.core.api.config.annotations.ConfigValue;
+import me.darkakyloff.core.utils.LoggerUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class ConfigBinder
+{
+    public static <T extends Record> T bind(ConfigSnapshot snapshot, String section, Class<T> type)
+    {
+        try
+        {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            Object[] arguments = new Object[components.length];
+
+            for (int i = 0; i < components.length; i++)
+            {
+                RecordComponent component = components[i];
+                ConfigValue annotation = component.getAnnotation(ConfigValue.class);
+
+                String path = resolvePath(section, annotation != null ? annotation.path() : component.getName());
+
+                parameterTypes[i] = component.getType();
+                arguments[i] = readComponent(snapshot, path, component.getType(), annotation);
+            }
+
+            Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+
+            return constructor.newInstance(arguments);
+        }
+        catch (ReflectiveOperationException exception)
+        {
+            LoggerUtils.error("Ошибка привязки конфигурации " + snapshot.getFileName() + ":" + section +
+                    " к " + type.getSimpleName(), exception);
+            return null;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readComponent(ConfigSnapshot snapshot, String path, Class<?> type, ConfigValue annotation)
+    {
+        if (type.isRecord())
+        {
+            return bind(snapshot, path, (Class<? extends Record>) type);
+        }
+
+        String defaultValue = annotation != null ? annotation.defaultValue() : "";
+
+        if (type == List.class)
+        {
+            if (snapshot.contains(path)) return snapshot.getStringList(path);
+
+            return defaultValue.isEmpty() ? List.of() : splitList(defaultValue);
+        }
+
+        Object raw = snapshot.get(path);
+        Object value = raw != null ? convert(raw, type) : null;
+
+        if (raw != null && value == null)
+        {
+            LoggerUtils.warning("Некорректное значение " + snapshot.getFileName() + ":" + path + " = " + raw +
+                    ", используется значение по умолчанию: " + defaultValue);
+        }
+
+        if (value == null)
+        {
+            value = convert(defaultValue, type);
+        }
+
+        if (value == null && type.isPrimitive())
+        {
+            value = convert(type == boolean.class ? "false" : "0", type);
+        }
+
+        if (value instanceof Number && annotation != null)
+        {
+            value = clamp(snapshot, path, (Number) value, type, annotation);
+        }
+
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(Object raw, Class<?> type)
+    {
+        String text = raw.toString().trim();
+
+        try
+        {
+            if (type == String.class) return raw.toString();
+
+            if (type == int.class || type == Integer.class)
+            {
+                return raw instanceof Number ? ((Number) raw).intValue() : Integer.parseInt(text);
+            }
+
+            if (type == long.class || type == Long.class)
+            {
+                return raw instanceof Number ? ((Number) raw).longValue() : Long.parseLong(text);
+            }
+
+            if (type == double.class || type == Double.class)
+            {
+                return raw instanceof Number ? ((Number) raw).doubleValue() : Double.parseDouble(text);
+            }
+
+            if (type == float.class || type == Float.class)
+            {
+                return raw instanceof Number ? ((Number) raw).floatValue() : Float.parseFloat(text);
+            }
+
+            if (type == boolean.class || type == Boolean.class)
+            {
+                if (raw instanceof Boolean) return raw;
+                if (text.equalsIgnoreCase("true")) return Boolean.TRUE;
+                if (text.equalsIgnoreCase("false")) return Boolean.FALSE;
+                return null;
+            }
+
+            if (type.isEnum())
+            {
+                return text.isEmpty() ? null : Enum.valueOf((Class<? extends Enum>) type, text.toUpperCase(Locale.ROOT));
+            }
+        }
+        catch (IllegalArgumentException exception)
+        {
+            return null;
+        }
+
+        return null;
+    }
+
+    private static Object clamp(ConfigSnapshot snapshot, String path, Number value, Class<?> type, ConfigValue annotation)
+    {
+        double number = value.doubleValue();
+
+        if (number >= annotation.min() && number <= annotation.max()) return value;
+
+        double clamped = Math.max(annotation.min(), Math.min(annotation.max(), number));
+
+        LoggerUtils.warning("Значение " + snapshot.getFileName() + ":" + path + " = " + value +
+                " вне диапазона [" + annotation.min() + ", " + annotation.max() + "], используется " + clamped);
+
+        return convert(clamped, type);
+    }
+
+    private static List<String> splitList(String value)
+    {
+        List<String> result = new ArrayList<>();
+
+        for (String part : value.split(","))
+        {
+            String trimmed = part.trim();
+
+            if (!trimmed.isEmpty()) result.add(trimmed);
+        }
+
+        return List.copyOf(result);
+    }
+
+    private static String resolvePath(String section, String path)
+    {
+        return section == null || section.isEmpty() ? path : section + "." + path;
+    }
+}
@@ -0,0 +1,7 @@
+package me.darkakyloff.core.api.config;
+
+@FunctionalInterface
+public interface ConfigChangeListener
+{
+    void onChange(ConfigSnapshot previous, ConfigSnapshot current);
+}
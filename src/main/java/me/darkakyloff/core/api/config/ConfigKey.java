@@ -0,0 +1,113 @@
+package me.darkakyloff.core.api.config;
+
+import java.util.List;
+import java.util.function.Function;
+
+public final class ConfigKey<T>
+{
+    private final String fileName;
+    private final String path;
+    private final Function<ConfigSnapshot, T> resolver;
+
+    private volatile Resolved<T> resolved;
+
+    private ConfigKey(String fileName, String path, Function<ConfigSnapshot, T> resolver)
+    {
+        this.fileName = fileName;
+        this.path = path;
+        this.resolver = resolver;
+    }
+
+    public static ConfigKey<String> string(String fileName, String path, String defaultValue)
+    {
+        return new ConfigKey<>(fileName, path, snapshot -> snapshot.getString(path, defaultValue));
+    }
+
+    public static ConfigKey<Integer> integer(String fileName, String path, int defaultValue)
+    {
+        return new ConfigKey<>(fileName, path, snapshot -> snapshot.getInt(path, defaultValue));
+    }
+
+    public static ConfigKey<Long> longValue(String fileName, String path, long defaultValue)
+    {
+        return new ConfigKey<>(fileName, path, snapshot -> snapshot.getLong(path, defaultValue));
+    }
+
+    public static ConfigKey<Double> doubleValue(String fileName, String path, double defaultValue)
+    {
+        return new ConfigKey<>(fileName, path, snapshot -> snapshot.getDouble(path, defaultValue));
+    }
+
+    public static ConfigKey<Boolean> bool(String fileName, String path, boolean defaultValue)
+    {
+        return new ConfigKey<>(fileName, path, snapshot -> snapshot.getBoolean(path, defaultValue));
+    }
+
+    public static ConfigKey<List<String>> stringList(String fileName, String path)
+    {
+        return new ConfigKey<>(fileName, path, snapshot -> snapshot.getStringList(path));
+    }
+
+    public static <T> ConfigKey<T> of(String fileName, String path, Function<Object, T> converter, T defaultValue)
+    {
+        return new ConfigKey<>(fileName, path, snapshot ->
+        {
+            Object value = snapshot.get(path);
+
+            if (value == null) return defaultValue;
+
+            T converted = converter.apply(value);
+            return converted != null ? converted : defaultValue;
+        });
+    }
+
+    public static <T extends Record> ConfigKey<T> bind(String fileName, String section, Class<T> type)
+    {
+        return new ConfigKey<>(fileName, section, snapshot -> ConfigBinder.bind(snapshot, section, type));
+    }
+
+    public <R> ConfigKey<R> map(Function<? super T, ? extends R> mapper)
+    {
+        return new ConfigKey<>(fileName, path, snapshot -> mapper.apply(resolver.apply(snapshot)));
+    }
+
+    T resolve(ConfigSnapshot snapshot)
+    {
+        Resolved<T> current = resolved;
+
+        if (current != null && current.snapshot == snapshot) return current.value;
+
+        T value = resolver.apply(snapshot);
+        resolved = new Resolved<>(snapshot, value);
+
+        return value;
+    }
+
+    public String getFileName()
+    {
+        return fileName;
+    }
+
+    public String getPath()
+    {
+        return path;
+    }
+
+    @Override
+    public String toString()
+    {
+        return fileName + ":" + path;
+    }
+
+    private static final class Resolved<T>
+    {
+        private final ConfigSnapshot snapshot;
+        private final T value;
+
+        private Resolved(ConfigSnapshot snapshot, T value)
+        {
+            this.snapshot = snapshot;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package me.darkakyloff.core.api.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ConfigSnapshot
+{
+    private static final Object SECTION = new Object();
+    private static final AtomicLong versionCounter = new AtomicLong(0);
+
+    public static final ConfigSnapshot EMPTY = new ConfigSnapshot("", Map.of(), new Object[0]);
+
+    private final String fileName;
+    private final long version;
+    private final Map<String, Integer> index;
+    private final Object[] values;
+
+    private ConfigSnapshot(String fileName, Map<String, Integer> index, Object[] values)
+    {
+        this.fileName = fileName;
+        this.version = versionCounter.incrementAndGet();
+        this.index = index;
+        this.values = values;
+    }
+
+    public static ConfigSnapshot of(String fileName, ConfigurationSection config)
+    {
+        if (config == null) return new ConfigSnapshot(fileName, Map.of(), new Object[0]);
+
+        Set<String> keys = config.getKeys(true);
+        Map<String, Integer> index = new HashMap<>(keys.size() * 2);
+        Object[] values = new Object[keys.size()];
+
+        int position = 0;
+
+        for (String key : keys)
+        {
+            Object value = config.get(key);
+
+            if (value instanceof ConfigurationSection)
+            {
+                value = SECTION;
+            }
+            else if (value instanceof List)
+            {
+                value = toStringList((List<?>) value);
+            }
+
+            index.put(key, position);
+            values[position++] = value;
+        }
+
+        return new ConfigSnapshot(fileName, Collections.unmodifiableMap(index), values);
+    }
+
+    private static List<String> toStringList(List<?> list)
+    {
+        List<String> result = new ArrayList<>(list.size());
+
+        for (Object element : list)
+        {
+            if (element instanceof String || element instanceof Number ||
+                    element instanceof Boolean || element instanceof Character)
+            {
+                result.add(String.valueOf(element));
+            }
+        }
+
+        return List.copyOf(result);
+    }
+
+    public Object get(String path)
+    {
+        Integer position = index.get(path);
+
+        if (position == null) return null;
+
+        Object value = values[position];
+        return value == SECTION ? null : value;
+    }
+
+    public boolean contains(String path)
+    {
+        return index.containsKey(path);
+    }
+
+    public String getString(String path, String defaultValue)
+    {
+        Object value = get(path);
+        return value != null && !(value instanceof List) ? value.toString() : defaultValue;
+    }
+
+    public int getInt(String path, int defaultValue)
+    {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    public long getLong(String path, long defaultValue)
+    {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+    public double getDouble(String path, double defaultValue)
+    {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    public boolean getBoolean(String path, boolean defaultValue)
+    {
+        Object value = get(path);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getStringList(String path)
+    {
+        Object value = get(path);
+        return value instanceof List ? (List<String>) value : List.of();
+    }
+
+    public boolean hasChanges(ConfigSnapshot other, String path)
+    {
+        String prefix = path + ".";
+
+        for (Map.Entry<String, Integer> entry : index.entrySet())
+        {
+            String key = entry.getKey();
+
+            if (!key.equals(path) && !key.startsWith(prefix)) continue;
+
+            Integer otherPosition = other.index.get(key);
+
+            if (otherPosition == null || !Objects.equals(values[entry.getValue()], other.values[otherPosition])) return true;
+        }
+
+        for (String key : other.index.keySet())
+        {
+            if ((key.equals(path) || key.startsWith(prefix)) && !index.containsKey(key)) return true;
+        }
+
+        return false;
+    }
+
+    public Set<String> getKeys()
+    {
+        return index.keySet();
+    }
+
+    public String getFileName()
+    {
+        return fileName;
+    }
+
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public int size()
+    {
+        return values.length;
+    }
+}
@@ -0,0 +1,174 @@
+package me.darkakyloff.core.api.config;
+
+import me.darkakyloff.core.utils.LoggerUtils;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class ConfigWatcher
+{
+    private final WatchService watchService;
+    private final Consumer<Path> reloadHandler;
+    private final long debounceMillis;
+    private final Map<WatchKey, Path> watchedDirectories;
+    private final Map<Path, ScheduledFuture<?>> pendingReloads;
+    private final ScheduledExecutorService reloadExecutor;
+    private final Thread watchThread;
+
+    private volatile boolean running;
+
+    public ConfigWatcher(Consumer<Path> reloadHandler, long debounceMillis) throws IOException
+    {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.reloadHandler = reloadHandler;
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.watchedDirectories = new ConcurrentHashMap<>();
+        this.pendingReloads = new ConcurrentHashMap<>();
+
+        this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "Core-Config-Reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.watchThread = new Thread(this::processEvents, "Core-Config-Watcher");
+        this.watchThread.setDaemon(true);
+    }
+
+    public void start()
+    {
+        if (running) return;
+
+        running = true;
+        watchThread.start();
+
+        LoggerUtils.debug("Отслеживание изменений конфигураций запущено (задержка " + debounceMillis + " мс)");
+    }
+
+    public void stop()
+    {
+        if (!running) return;
+
+        running = false;
+
+        try
+        {
+            watchService.close();
+        }
+        catch (IOException exception)
+        {
+            LoggerUtils.warning("Ошибка закрытия WatchService: " + exception.getMessage());
+        }
+
+        pendingReloads.values().forEach(future -> future.cancel(false));
+        pendingReloads.clear();
+        reloadExecutor.shutdownNow();
+        watchedDirectories.clear();
+
+        LoggerUtils.debug("Отслеживание изменений конфигураций остановлено");
+    }
+
+    public void watchDirectory(Path directory)
+    {
+        Path normalized = directory.toAbsolutePath().normalize();
+
+        if (watchedDirectories.containsValue(normalized)) return;
+
+        try
+        {
+            WatchKey key = normalized.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+
+            watchedDirectories.put(key, normalized);
+            LoggerUtils.debug("Отслеживается папка конфигураций: " + normalized);
+        }
+        catch (ClosedWatchServiceException exception)
+        {
+            LoggerUtils.debug("WatchService закрыт, папка не отслеживается: " + normalized);
+        }
+        catch (IOException exception)
+        {
+            LoggerUtils.warning("Не удалось отслеживать папку " + normalized + ": " + exception.getMessage());
+        }
+    }
+
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    private void processEvents()
+    {
+        while (running)
+        {
+            WatchKey key;
+
+            try
+            {
+                key = watchService.take();
+            }
+            catch (InterruptedException | ClosedWatchServiceException exception)
+            {
+                break;
+            }
+
+            Path directory = watchedDirectories.get(key);
+
+            for (WatchEvent<?> event : key.pollEvents())
+            {
+                if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+
+                Path file = directory.resolve((Path) event.context());
+
+                if (file.getFileName().toString().endsWith(".yml"))
+                {
+                    scheduleReload(file);
+                }
+            }
+
+            if (!key.reset())
+            {
+                watchedDirectories.remove(key);
+            }
+        }
+    }
+
+    private void scheduleReload(Path file)
+    {
+        pendingReloads.compute(file, (path, previous) ->
+        {
+            if (previous != null) previous.cancel(false);
+
+            return reloadExecutor.schedule(() -> reload(path), debounceMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void reload(Path file)
+    {
+        pendingReloads.remove(file);
+
+        try
+        {
+            reloadHandler.accept(file);
+        }
+        catch (Exception exception)
+        {
+            LoggerUtils.error("Ошибка перезагрузки конфигурации: " + file.getFileName(), exception);
+        }
+    }
+}
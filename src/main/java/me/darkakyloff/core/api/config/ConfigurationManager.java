@@ -1,7 +1,11 @@
 package me.darkakyloff.core.api.config;
 
+import me.darkakyloff.core.CorePlugin;
+import me.darkakyloff.core.tasks.AsyncTaskScheduler;
+import me.darkakyloff.core.tasks.StartupTracer;
 import me.darkakyloff.core.utils.LoggerUtils;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
@@ -9,22 +13,65 @@ import org.bukkit.plugin.Plugin;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class ConfigurationManager
 {
     private final Plugin plugin;
     private final Map<String, FileConfiguration> configCache;
     private final Map<String, File> fileCache;
+    private final Map<String, ConfigSnapshot> snapshotCache;
+    private final Map<String, List<ConfigChangeListener>> changeListeners;
+    private final Map<String, Long> savedTimestamps;
+    private final Map<String, PendingSave> pendingSaves;
+    private final Map<String, Object> fileLocks;
+    private final Set<String> staleSnapshots;
+    private final ScheduledExecutorService saveExecutor;
+
+    private volatile ConfigWatcher watcher;
+    private volatile long saveDelayMillis;
 
     public ConfigurationManager(Plugin plugin)
     {
         this.plugin = plugin;
         this.configCache = new ConcurrentHashMap<>();
         this.fileCache = new ConcurrentHashMap<>();
+        this.snapshotCache = new ConcurrentHashMap<>();
+        this.changeListeners = new ConcurrentHashMap<>();
+        this.savedTimestamps = new ConcurrentHashMap<>();
+        this.pendingSaves = new ConcurrentHashMap<>();
+        this.fileLocks = new ConcurrentHashMap<>();
+        this.staleSnapshots = ConcurrentHashMap.newKeySet();
+        this.saveDelayMillis = 1000;
+
+        this.saveExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "Core-Config-Save");
+            thread.setDaemon(true);
+            return thread;
+        });
 
         LoggerUtils.debug("ConfigurationManager инициализирован");
     }
@@ -36,6 +83,71 @@ public class ConfigurationManager
 
     public boolean loadConfig(String fileName, String folderName)
     {
+        LoadedConfig loaded = parseConfig(fileName, folderName);
+
+        if (loaded == null) return false;
+
+        installConfig(loaded);
+        return true;
+    }
+
+    public boolean loadConfigs(Collection<String> fileNames)
+    {
+        return loadConfigs(fileNames, null);
+    }
+
+    public boolean loadConfigs(Collection<String> fileNames, String folderName)
+    {
+        Map<String, Collection<String>> fileNamesByFolder = new LinkedHashMap<>();
+        fileNamesByFolder.put(folderName, fileNames);
+
+        return loadConfigs(fileNamesByFolder);
+    }
+
+    public boolean loadConfigs(Map<String, ? extends Collection<String>> fileNamesByFolder)
+    {
+        long startTime = System.nanoTime();
+        List<CompletableFuture<LoadedConfig>> futures = new ArrayList<>();
+
+        for (Map.Entry<String, ? extends Collection<String>> entry : fileNamesByFolder.entrySet())
+        {
+            String folderName = entry.getKey();
+
+            for (String fileName : new LinkedHashSet<>(entry.getValue()))
+            {
+                futures.add(CompletableFuture.supplyAsync(() -> parseConfig(fileName, folderName), ForkJoinPool.commonPool()));
+            }
+        }
+
+        if (futures.isEmpty()) return true;
+
+        boolean allLoaded = true;
+        List<String> timings = new ArrayList<>();
+
+        for (CompletableFuture<LoadedConfig> future : futures)
+        {
+            LoadedConfig loaded = future.join();
+
+            if (loaded == null)
+            {
+                allLoaded = false;
+                continue;
+            }
+
+            installConfig(loaded);
+            timings.add(String.format(Locale.ROOT, "%s %.1f мс", loaded.cacheKey, loaded.parseNanos / 1_000_000.0));
+        }
+
+        LoggerUtils.info(String.format(Locale.ROOT, "Параллельно загружено конфигураций: %d за %.1f мс (%s)",
+                timings.size(), (System.nanoTime() - startTime) / 1_000_000.0, String.join(", ", timings)));
+
+        return allLoaded;
+    }
+
+    private LoadedConfig parseConfig(String fileName, String folderName)
+    {
+        long startTime = System.nanoTime();
+
         try
         {
             File configFile = getConfigFile(fileName, folderName);
@@ -45,20 +157,49 @@ public class ConfigurationManager
                 createConfigFromResource(fileName, folderName);
             }
 
+            String cacheKey = createCacheKey(fileName, folderName);
             FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            applyResourceDefaults(config, cacheKey);
+            ConfigSnapshot snapshot = ConfigSnapshot.of(fileName, config);
 
-            String cacheKey = createCacheKey(fileName, folderName);
-            configCache.put(cacheKey, config);
-            fileCache.put(cacheKey, configFile);
+            long endTime = System.nanoTime();
 
-            LoggerUtils.debug("Конфигурация загружена: " + fileName);
-            return true;
+            StartupTracer.record("config " + cacheKey, startTime, endTime);
+
+            return new LoadedConfig(cacheKey, configFile, config, snapshot, endTime - startTime);
         }
         catch (Exception exception)
         {
             LoggerUtils.error("Ошибка загрузки конфигурации: " + fileName, exception);
-            return false;
+            return null;
+        }
+    }
+
+    private void installConfig(LoadedConfig loaded)
+    {
+        ConfigSnapshot previous;
+
+        synchronized (lockFor(loaded.cacheKey))
+        {
+            configCache.put(loaded.cacheKey, loaded.config);
+            fileCache.put(loaded.cacheKey, loaded.file);
+            previous = snapshotCache.put(loaded.cacheKey, loaded.snapshot);
+            staleSnapshots.remove(loaded.cacheKey);
+        }
+
+        ConfigWatcher currentWatcher = watcher;
+        if (currentWatcher != null)
+        {
+            currentWatcher.watchDirectory(loaded.file.getParentFile().toPath());
         }
+
+        if (previous != null)
+        {
+            notifyListeners(loaded.cacheKey, previous, loaded.snapshot);
+        }
+
+        LoggerUtils.debug(String.format(Locale.ROOT, "Конфигурация загружена: %s (%.1f мс)",
+                loaded.cacheKey, loaded.parseNanos / 1_000_000.0));
     }
 
     public boolean reloadConfig(String fileName)
@@ -68,11 +209,6 @@ public class ConfigurationManager
 
     public boolean reloadConfig(String fileName, String folderName)
     {
-        String cacheKey = createCacheKey(fileName, folderName);
-
-        configCache.remove(cacheKey);
-        fileCache.remove(cacheKey);
-
         boolean result = loadConfig(fileName, folderName);
 
         if (result)
@@ -90,29 +226,204 @@ public class ConfigurationManager
 
     public boolean saveConfig(String fileName, String folderName)
     {
+        String cacheKey = createCacheKey(fileName, folderName);
+        PendingSave pending = pendingSaves.remove(cacheKey);
+
+        boolean result = writeConfig(cacheKey);
+
+        if (pending != null)
+        {
+            pending.task.cancel(false);
+            pending.result.complete(result);
+        }
+
+        return result;
+    }
+
+    public CompletableFuture<Boolean> saveConfigAsync(String fileName)
+    {
+        return saveConfigAsync(fileName, null);
+    }
+
+    public CompletableFuture<Boolean> saveConfigAsync(String fileName, String folderName)
+    {
+        String cacheKey = createCacheKey(fileName, folderName);
+
+        if (saveExecutor.isShutdown())
+        {
+            return CompletableFuture.completedFuture(writeConfig(cacheKey));
+        }
+
+        return pendingSaves.computeIfAbsent(cacheKey, key ->
+        {
+            CompletableFuture<Boolean> result = new CompletableFuture<>();
+            ScheduledFuture<?> task = saveExecutor.schedule(() -> runPendingSave(key), saveDelayMillis, TimeUnit.MILLISECONDS);
+
+            return new PendingSave(task, result);
+        }).result;
+    }
+
+    public void setSaveDelay(long delayMillis)
+    {
+        this.saveDelayMillis = Math.max(0, delayMillis);
+    }
+
+    public int getPendingSaveCount()
+    {
+        return pendingSaves.size();
+    }
+
+    public void flushPendingSaves()
+    {
+        int flushed = 0;
+
+        for (String cacheKey : List.copyOf(pendingSaves.keySet()))
+        {
+            PendingSave pending = pendingSaves.remove(cacheKey);
+
+            if (pending == null) continue;
+
+            pending.task.cancel(false);
+            pending.result.complete(writeConfig(cacheKey));
+            flushed++;
+        }
+
+        if (flushed > 0)
+        {
+            LoggerUtils.debug("Сохранено отложенных конфигураций: " + flushed);
+        }
+    }
+
+    public void shutdown()
+    {
+        stopWatching();
+        flushPendingSaves();
+        saveExecutor.shutdown();
+
         try
         {
-            String cacheKey = createCacheKey(fileName, folderName);
+            if (!saveExecutor.awaitTermination(5, TimeUnit.SECONDS))
+            {
+                saveExecutor.shutdownNow();
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            saveExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        flushPendingSaves();
+    }
+
+    private void runPendingSave(String cacheKey)
+    {
+        PendingSave pending = pendingSaves.remove(cacheKey);
+
+        if (pending == null) return;
+
+        CorePlugin corePlugin = CorePlugin.getInstance();
+        AsyncTaskScheduler scheduler = corePlugin != null ? corePlugin.getTaskScheduler() : null;
+
+        if (scheduler == null)
+        {
+            pending.result.complete(writeConfig(cacheKey));
+            return;
+        }
+
+        CompletableFuture<String> serialized;
+
+        try
+        {
+            serialized = CompletableFuture.supplyAsync(() -> serializeConfig(cacheKey), scheduler.getMainThreadExecutor());
+        }
+        catch (RejectedExecutionException exception)
+        {
+            pending.result.complete(writeConfig(cacheKey));
+            return;
+        }
+
+        serialized.thenAcceptAsync(data -> pending.result.complete(data != null && writeData(cacheKey, data)), saveExecutor)
+                .exceptionally(throwable ->
+                {
+                    pending.result.complete(writeConfig(cacheKey));
+                    return null;
+                });
+    }
+
+    private boolean writeConfig(String cacheKey)
+    {
+        String data = serializeConfig(cacheKey);
+        return data != null && writeData(cacheKey, data);
+    }
+
+    private String serializeConfig(String cacheKey)
+    {
+        synchronized (lockFor(cacheKey))
+        {
             FileConfiguration config = configCache.get(cacheKey);
-            File configFile = fileCache.get(cacheKey);
 
-            if (config == null || configFile == null)
+            if (config == null || !fileCache.containsKey(cacheKey))
             {
-                LoggerUtils.warning("Конфигурация не найдена для сохранения: " + fileName);
-                return false;
+                LoggerUtils.warning("Конфигурация не найдена для сохранения: " + cacheKey);
+                return null;
             }
 
-            config.save(configFile);
-            LoggerUtils.debug("Конфигурация сохранена: " + fileName);
+            return config.saveToString();
+        }
+    }
+
+    private boolean writeData(String cacheKey, String data)
+    {
+        File configFile = fileCache.get(cacheKey);
+
+        if (configFile == null)
+        {
+            LoggerUtils.warning("Конфигурация не найдена для сохранения: " + cacheKey);
+            return false;
+        }
+
+        try
+        {
+            writeAtomically(configFile.toPath(), data);
+            savedTimestamps.put(cacheKey, configFile.lastModified());
+
+            LoggerUtils.debug("Конфигурация сохранена: " + cacheKey);
             return true;
         }
         catch (IOException exception)
         {
-            LoggerUtils.error("Ошибка сохранения конфигурации: " + fileName, exception);
+            LoggerUtils.error("Ошибка сохранения конфигурации: " + cacheKey, exception);
             return false;
         }
     }
 
+    private void writeAtomically(Path target, String data) throws IOException
+    {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path tempFile = directory.resolve("." + target.getFileName() + ".tmp");
+
+        try
+        {
+            Files.writeString(tempFile, data, StandardCharsets.UTF_8);
+
+            try
+            {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException exception)
+            {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     public void unloadConfig(String fileName)
     {
         unloadConfig(fileName, null);
@@ -121,12 +432,185 @@ public class ConfigurationManager
     public void unloadConfig(String fileName, String folderName)
     {
         String cacheKey = createCacheKey(fileName, folderName);
-        configCache.remove(cacheKey);
-        fileCache.remove(cacheKey);
+        PendingSave pending = pendingSaves.remove(cacheKey);
+
+        if (pending != null)
+        {
+            pending.task.cancel(false);
+            pending.result.complete(writeConfig(cacheKey));
+        }
+
+        synchronized (lockFor(cacheKey))
+        {
+            configCache.remove(cacheKey);
+            fileCache.remove(cacheKey);
+            snapshotCache.remove(cacheKey);
+            staleSnapshots.remove(cacheKey);
+            savedTimestamps.remove(cacheKey);
+        }
 
         LoggerUtils.debug("Конфигурация выгружена: " + fileName);
     }
 
+    public void startWatching(long debounceMillis)
+    {
+        if (watcher != null) return;
+
+        try
+        {
+            ConfigWatcher newWatcher = new ConfigWatcher(this::reloadChangedFile, debounceMillis);
+            newWatcher.watchDirectory(plugin.getDataFolder().toPath());
+
+            for (File configFile : fileCache.values())
+            {
+                newWatcher.watchDirectory(configFile.getParentFile().toPath());
+            }
+
+            newWatcher.start();
+            watcher = newWatcher;
+        }
+        catch (IOException exception)
+        {
+            LoggerUtils.error("Не удалось запустить отслеживание конфигураций", exception);
+        }
+    }
+
+    public void stopWatching()
+    {
+        ConfigWatcher currentWatcher = watcher;
+        watcher = null;
+
+        if (currentWatcher != null)
+        {
+            currentWatcher.stop();
+        }
+    }
+
+    public boolean isWatching()
+    {
+        return watcher != null;
+    }
+
+    public void addChangeListener(String fileName, ConfigChangeListener listener)
+    {
+        changeListeners.computeIfAbsent(fileName, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void addChangeListener(String fileName, String path, ConfigChangeListener listener)
+    {
+        addChangeListener(fileName, new PathChangeListener(path, listener));
+    }
+
+    public void removeChangeListener(String fileName, ConfigChangeListener listener)
+    {
+        List<ConfigChangeListener> listeners = changeListeners.get(fileName);
+
+        if (listeners != null)
+        {
+            listeners.removeIf(registered -> registered == listener ||
+                    (registered instanceof PathChangeListener && ((PathChangeListener) registered).delegate == listener));
+        }
+    }
+
+    private void reloadChangedFile(Path path)
+    {
+        File changedFile = path.toFile();
+        String cacheKey = findCacheKey(changedFile);
+
+        if (cacheKey == null || !changedFile.exists()) return;
+
+        Long savedAt = savedTimestamps.get(cacheKey);
+        if (savedAt != null && savedAt == changedFile.lastModified()) return;
+
+        YamlConfiguration config = new YamlConfiguration();
+
+        try
+        {
+            config.load(changedFile);
+        }
+        catch (IOException | InvalidConfigurationException exception)
+        {
+            LoggerUtils.warning("Изменения в " + cacheKey + " не применены, файл содержит ошибки: " + exception.getMessage());
+            return;
+        }
+
+        applyResourceDefaults(config, cacheKey);
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(changedFile.getName(), config);
+        ConfigSnapshot previous;
+
+        synchronized (lockFor(cacheKey))
+        {
+            if (!configCache.containsKey(cacheKey)) return;
+
+            configCache.put(cacheKey, config);
+            previous = snapshotCache.put(cacheKey, snapshot);
+            staleSnapshots.remove(cacheKey);
+        }
+
+        LoggerUtils.debug("Конфигурация обновлена после изменения файла: " + cacheKey);
+
+        notifyListeners(cacheKey, previous != null ? previous : ConfigSnapshot.EMPTY, snapshot);
+    }
+
+    private String findCacheKey(File file)
+    {
+        File target = file.getAbsoluteFile();
+
+        for (Map.Entry<String, File> entry : fileCache.entrySet())
+        {
+            if (entry.getValue().getAbsoluteFile().equals(target)) return entry.getKey();
+        }
+
+        return null;
+    }
+
+    private void notifyListeners(String cacheKey, ConfigSnapshot previous, ConfigSnapshot current)
+    {
+        List<ConfigChangeListener> listeners = changeListeners.get(cacheKey);
+
+        if (listeners == null || listeners.isEmpty()) return;
+
+        Runnable dispatch = () ->
+        {
+            for (ConfigChangeListener listener : listeners)
+            {
+                try
+                {
+                    listener.onChange(previous, current);
+                }
+                catch (Exception exception)
+                {
+                    LoggerUtils.error("Ошибка в обработчике изменения конфигурации " + cacheKey, exception);
+                }
+            }
+        };
+
+        CorePlugin corePlugin = CorePlugin.getInstance();
+        AsyncTaskScheduler scheduler = corePlugin != null ? corePlugin.getTaskScheduler() : null;
+
+        if (scheduler == null || !scheduler.isRunning() || !scheduler.runOnMainThread(dispatch))
+        {
+            dispatch.run();
+        }
+    }
+
+    public ConfigSnapshot getSnapshot(String fileName)
+    {
+        if (!staleSnapshots.isEmpty() && staleSnapshots.contains(fileName))
+        {
+            rebuildSnapshot(fileName);
+        }
+
+        ConfigSnapshot snapshot = snapshotCache.get(fileName);
+        return snapshot != null ? snapshot : ConfigSnapshot.EMPTY;
+    }
+
+    public <T> T get(ConfigKey<T> key)
+    {
+        return key.resolve(getSnapshot(key.getFileName()));
+    }
+
     public String getString(String fileName, String path)
     {
         return getString(fileName, path, null);
@@ -134,38 +618,32 @@ public class ConfigurationManager
 
     public String getString(String fileName, String path, String defaultValue)
     {
-        FileConfiguration config = getConfig(fileName);
-        return config != null ? config.getString(path, defaultValue) : defaultValue;
+        return getSnapshot(fileName).getString(path, defaultValue);
     }
 
     public int getInt(String fileName, String path, int defaultValue)
     {
-        FileConfiguration config = getConfig(fileName);
-        return config != null ? config.getInt(path, defaultValue) : defaultValue;
+        return getSnapshot(fileName).getInt(path, defaultValue);
     }
 
     public long getLong(String fileName, String path, long defaultValue)
     {
-        FileConfiguration config = getConfig(fileName);
-        return config != null ? config.getLong(path, defaultValue) : defaultValue;
+        return getSnapshot(fileName).getLong(path, defaultValue);
     }
 
     public double getDouble(String fileName, String path, double defaultValue)
     {
-        FileConfiguration config = getConfig(fileName);
-        return config != null ? config.getDouble(path, defaultValue) : defaultValue;
+        return getSnapshot(fileName).getDouble(path, defaultValue);
     }
 
     public boolean getBoolean(String fileName, String path, boolean defaultValue)
     {
-        FileConfiguration config = getConfig(fileName);
-        return config != null ? config.getBoolean(path, defaultValue) : defaultValue;
+        return getSnapshot(fileName).getBoolean(path, defaultValue);
     }
 
     public List<String> getStringList(String fileName, String path)
     {
-        FileConfiguration config = getConfig(fileName);
-        return config != null ? config.getStringList(path) : List.of();
+        return getSnapshot(fileName).getStringList(path);
     }
 
     public ConfigurationSection getConfigurationSection(String fileName, String path)
@@ -176,18 +654,38 @@ public class ConfigurationManager
 
     public void set(String fileName, String path, Object value)
     {
-        FileConfiguration config = getConfig(fileName);
-        if (config != null)
+        String cacheKey = createCacheKey(fileName, null);
+
+        synchronized (lockFor(cacheKey))
         {
+            FileConfiguration config = configCache.get(cacheKey);
+
+            if (config == null) return;
+
             config.set(path, value);
-            LoggerUtils.debug("Значение установлено в конфигурации " + fileName + ": " + path + " = " + value);
+            staleSnapshots.add(cacheKey);
         }
+
+        LoggerUtils.debug("Значение установлено в конфигурации " + fileName + ": " + path + " = " + value);
     }
 
     public boolean contains(String fileName, String path)
     {
-        FileConfiguration config = getConfig(fileName);
-        return config != null && config.contains(path);
+        return getSnapshot(fileName).contains(path);
+    }
+
+    public boolean hasConfigFile(String fileName)
+    {
+        if (getConfigFile(fileName, null).exists()) return true;
+
+        try (InputStream resourceStream = plugin.getResource(fileName))
+        {
+            return resourceStream != null;
+        }
+        catch (IOException exception)
+        {
+            return false;
+        }
     }
 
     public boolean isConfigLoaded(String fileName)
@@ -208,11 +706,36 @@ public class ConfigurationManager
 
     public void unloadAllConfigs()
     {
+        flushPendingSaves();
+
         configCache.clear();
         fileCache.clear();
+        snapshotCache.clear();
+        staleSnapshots.clear();
+        savedTimestamps.clear();
         LoggerUtils.debug("Все конфигурации выгружены");
     }
 
+    private void rebuildSnapshot(String cacheKey)
+    {
+        synchronized (lockFor(cacheKey))
+        {
+            if (!staleSnapshots.remove(cacheKey)) return;
+
+            FileConfiguration config = configCache.get(cacheKey);
+
+            if (config != null)
+            {
+                snapshotCache.put(cacheKey, ConfigSnapshot.of(cacheKey, config));
+            }
+        }
+    }
+
+    private Object lockFor(String cacheKey)
+    {
+        return fileLocks.computeIfAbsent(cacheKey, key -> new Object());
+    }
+
     private FileConfiguration getConfig(String fileName)
     {
         String cacheKey = createCacheKey(fileName, null);
@@ -251,6 +774,21 @@ public class ConfigurationManager
         }
     }
 
+    private void applyResourceDefaults(FileConfiguration config, String resourcePath)
+    {
+        try (InputStream resourceStream = plugin.getResource(resourcePath))
+        {
+            if (resourceStream == null) return;
+
+            config.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(resourceStream, StandardCharsets.UTF_8)));
+            config.options().copyDefaults(true);
+        }
+        catch (IOException exception)
+        {
+            LoggerUtils.warning("Не удалось прочитать значения по умолчанию для " + resourcePath + ": " + exception.getMessage());
+        }
+    }
+
     private File getConfigFile(String fileName, String folderName)
     {
         if (folderName != null && !folderName.isEmpty())
@@ -273,4 +811,55 @@ public class ConfigurationManager
         }
         return fileName;
     }
-}
\ No newline at end of file
+
+    private static final class LoadedConfig
+    {
+        private final String cacheKey;
+        private final File file;
+        private final FileConfiguration config;
+        private final ConfigSnapshot snapshot;
+        private final long parseNanos;
+
+        private LoadedConfig(String cacheKey, File file, FileConfiguration config, ConfigSnapshot snapshot, long parseNanos)
+        {
+            this.cacheKey = cacheKey;
+            this.file = file;
+            this.config = config;
+            this.snapshot = snapshot;
+            this.parseNanos = parseNanos;
+        }
+    }
+
+    private static final class PendingSave
+    {
+        private final ScheduledFuture<?> task;
+        private final CompletableFuture<Boolean> result;
+
+        private PendingSave(ScheduledFuture<?> task, CompletableFuture<Boolean> result)
+        {
+            this.task = task;
+            this.result = result;
+        }
+    }
+
+    private static final class PathChangeListener implements ConfigChangeListener
+    {
+        private final String path;
+        private final ConfigChangeListener delegate;
+
+        private PathChangeListener(String path, ConfigChangeListener delegate)
+        {
+            this.path = path;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onChange(ConfigSnapshot previous, ConfigSnapshot current)
+        {
+            if (previous.hasChanges(current, path))
+            {
+                delegate.onChange(previous, current);
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package me.darkakyloff.core.api.database;
 
+import me.darkakyloff.core.api.config.ConfigBinder;
+import me.darkakyloff.core.api.config.ConfigKey;
+import me.darkakyloff.core.api.config.ConfigSnapshot;
 import me.darkakyloff.core.api.config.ConfigurationManager;
+import me.darkakyloff.core.api.config.annotations.ConfigValue;
 import com.zaxxer.hikari.HikariConfig;
 
 public class DatabaseConfig
@@ -12,17 +16,31 @@ public class DatabaseConfig
     private final String database;
     private final String databaseKey;
 
+    public record Settings(
+            @ConfigValue(path = "host", defaultValue = "localhost") String host,
+            @ConfigValue(path = "port", defaultValue = "3306", min = 1, max = 65535) int port,
+            @ConfigValue(path = "username", defaultValue = "root") String username,
+            @ConfigValue(path = "password") String password,
+            @ConfigValue(path = "database", defaultValue = "minecraft_core") String database)
+    {
+    }
+
     public DatabaseConfig(ConfigurationManager configManager, String databaseKey)
     {
         this.databaseKey = databaseKey;
 
-        String basePath = databaseKey;
+        Settings settings = configManager.get(ConfigKey.bind("database.yml", databaseKey, Settings.class));
+
+        if (settings == null)
+        {
+            settings = ConfigBinder.bind(ConfigSnapshot.EMPTY, databaseKey, Settings.class);
+        }
 
-        this.host = configManager.getString("database.yml", basePath + ".host", "localhost");
-        this.port = configManager.getInt("database.yml", basePath + ".port", 3306);
-        this.username = configManager.getString("database.yml", basePath + ".username", "root");
-        this.password = configManager.getString("database.yml", basePath + ".password", "");
-        this.database = configManager.getString("database.yml", basePath + ".database", "minecraft_core");
+        this.host = settings.host();
+        this.port = settings.port();
+        this.username = settings.username();
+        this.password = settings.password();
+        this.database = settings.database();
     }
 
     public String getHost() { return host; }
@@ -1,23 +1,35 @@
 package me.darkakyloff.core.api.database;
 
+import me.darkakyloff.core.CorePlugin;
 import me.darkakyloff.core.api.config.ConfigurationManager;
+import me.darkakyloff.core.modules.ModuleResourceRegistry;
+import me.darkakyloff.core.tasks.TickProfiler;
 import me.darkakyloff.core.utils.LoggerUtils;
 import com.zaxxer.hikari.HikariDataSource;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 public class DatabaseManager
 {
+    private static final Set<DatabaseManager> instances = ConcurrentHashMap.newKeySet();
+
     private final ConfigurationManager configManager;
+    private final String owner;
     private final Map<String, HikariDataSource> dataSources;
     private final Executor databaseExecutor;
+    private final DatabaseWriteQueue writeQueue;
 
     private boolean debugMode = false;
 
@@ -26,6 +38,9 @@ public class DatabaseManager
         this.configManager = configManager;
         this.dataSources = new ConcurrentHashMap<>();
 
+        String currentOwner = ModuleResourceRegistry.getCurrentOwner();
+        this.owner = currentOwner != null ? currentOwner : TickProfiler.DEFAULT_OWNER;
+
         this.databaseExecutor = Executors.newFixedThreadPool(8, runnable ->
         {
             Thread thread = new Thread(runnable, "Database-Worker");
@@ -33,6 +48,17 @@ public class DatabaseManager
             return thread;
         });
 
+        this.writeQueue = new DatabaseWriteQueue(dataSources::get,
+                configManager.getLong("database.yml", "write-queue.flush-interval", 500),
+                configManager.getInt("database.yml", "write-queue.batch-size", 500),
+                configManager.getInt("database.yml", "write-queue.max-pending", 10000),
+                configManager.getLong("database.yml", "write-queue.offer-timeout", 50),
+                configManager.getInt("database.yml", "write-queue.max-retries", 3),
+                configManager.getLong("database.yml", "write-queue.retry-backoff", 1000));
+
+        instances.add(this);
+        ModuleResourceRegistry.trackOwned(currentOwner, "database", "DatabaseManager", this, this::shutdown);
+
         LoggerUtils.debug("DatabaseManager инициализирован");
     }
 
@@ -153,7 +179,12 @@ public class DatabaseManager
 
     public void executeUpdateAsync(String databaseKey, String query, Consumer<Boolean> callback, Object... params)
     {
-        CompletableFuture.supplyAsync(() ->
+        updateAsync(databaseKey, query, params).thenAccept(callback);
+    }
+
+    public CompletableFuture<Boolean> updateAsync(String databaseKey, String query, Object... params)
+    {
+        return CompletableFuture.supplyAsync(() ->
         {
             HikariDataSource dataSource = dataSources.get(databaseKey);
             if (dataSource == null)
@@ -180,7 +211,12 @@ public class DatabaseManager
                 LoggerUtils.error("Ошибка выполнения UPDATE: " + query, exception);
                 return false;
             }
-        }, databaseExecutor).thenAccept(callback);
+        }, databaseExecutor);
+    }
+
+    public <T> CompletableFuture<Void> thenAcceptSync(CompletableFuture<T> future, Consumer<? super T> action)
+    {
+        return CorePlugin.getInstance().getTaskScheduler().thenAcceptSync(future, action);
     }
 
     public void executeQueryAsync(String databaseKey, String query, Consumer<ResultSet> callback, Object... params)
@@ -216,6 +252,127 @@ public class DatabaseManager
         }, databaseExecutor);
     }
 
+    public <T> CompletableFuture<List<T>> queryAsync(String databaseKey, String query, RowMapper<T> mapper, Object... params)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            HikariDataSource dataSource = dataSources.get(databaseKey);
+            if (dataSource == null)
+            {
+                LoggerUtils.error("База данных не найдена: " + databaseKey);
+                throw new CompletionException(new SQLException("База данных не найдена: " + databaseKey));
+            }
+
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query))
+            {
+                setParameters(statement, params);
+
+                if (debugMode)
+                {
+                    LoggerUtils.debug("Выполнение SELECT: " + query);
+                }
+
+                try (ResultSet resultSet = statement.executeQuery())
+                {
+                    List<T> rows = new ArrayList<>();
+
+                    while (resultSet.next())
+                    {
+                        rows.add(mapper.map(resultSet));
+                    }
+
+                    return rows;
+                }
+            }
+            catch (SQLException exception)
+            {
+                LoggerUtils.error("Ошибка выполнения SELECT: " + query, exception);
+                throw new CompletionException(exception);
+            }
+        }, databaseExecutor);
+    }
+
+    public <T> CompletableFuture<T> queryOneAsync(String databaseKey, String query, RowMapper<T> mapper, Object... params)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            HikariDataSource dataSource = dataSources.get(databaseKey);
+            if (dataSource == null)
+            {
+                LoggerUtils.error("База данных не найдена: " + databaseKey);
+                throw new CompletionException(new SQLException("База данных не найдена: " + databaseKey));
+            }
+
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query))
+            {
+                setParameters(statement, params);
+                statement.setMaxRows(1);
+
+                if (debugMode)
+                {
+                    LoggerUtils.debug("Выполнение SELECT: " + query);
+                }
+
+                try (ResultSet resultSet = statement.executeQuery())
+                {
+                    return resultSet.next() ? mapper.map(resultSet) : null;
+                }
+            }
+            catch (SQLException exception)
+            {
+                LoggerUtils.error("Ошибка выполнения SELECT: " + query, exception);
+                throw new CompletionException(exception);
+            }
+        }, databaseExecutor);
+    }
+
+    public <T> CompletableFuture<Integer> queryForEach(String databaseKey, String query, int fetchSize,
+                                                       RowMapper<T> mapper, Consumer<T> consumer, Object... params)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            HikariDataSource dataSource = dataSources.get(databaseKey);
+            if (dataSource == null)
+            {
+                LoggerUtils.error("База данных не найдена: " + databaseKey);
+                throw new CompletionException(new SQLException("База данных не найдена: " + databaseKey));
+            }
+
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(query,
+                         ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+            {
+                setParameters(statement, params);
+                statement.setFetchSize(Math.max(1, fetchSize));
+
+                if (debugMode)
+                {
+                    LoggerUtils.debug("Выполнение потокового SELECT: " + query + " (fetchSize: " + fetchSize + ")");
+                }
+
+                int processed = 0;
+
+                try (ResultSet resultSet = statement.executeQuery())
+                {
+                    while (resultSet.next())
+                    {
+                        consumer.accept(mapper.map(resultSet));
+                        processed++;
+                    }
+                }
+
+                return processed;
+            }
+            catch (SQLException exception)
+            {
+                LoggerUtils.error("Ошибка выполнения потокового SELECT: " + query, exception);
+                throw new CompletionException(exception);
+            }
+        }, databaseExecutor);
+    }
+
     public boolean executeUpdateSync(String databaseKey, String query, Object... params)
     {
         HikariDataSource dataSource = dataSources.get(databaseKey);
@@ -284,6 +441,26 @@ public class DatabaseManager
         }, databaseExecutor).thenAccept(callback);
     }
 
+    public CompletableFuture<Void> queueUpdate(String databaseKey, String query, Object... params)
+    {
+        return writeQueue.enqueue(databaseKey, query, null, params);
+    }
+
+    public CompletableFuture<Void> queueUpsert(String databaseKey, String query, Object coalesceKey, Object... params)
+    {
+        return writeQueue.enqueue(databaseKey, query, coalesceKey, params);
+    }
+
+    public CompletableFuture<Void> flushWriteQueue()
+    {
+        return writeQueue.flush();
+    }
+
+    public DatabaseWriteQueue getWriteQueue()
+    {
+        return writeQueue;
+    }
+
     public void createTable(String databaseKey, String tableName, Map<String, String> columns, Consumer<Boolean> callback)
     {
         StringBuilder queryBuilder = new StringBuilder("CREATE TABLE IF NOT EXISTS ");
@@ -317,9 +494,37 @@ public class DatabaseManager
     }
 
     public void shutdown()
+    {
+        shutdown(5000);
+    }
+
+    public int shutdown(long timeoutMillis)
     {
         LoggerUtils.debug("Остановка системы базы данных...");
 
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+        int dropped = 0;
+
+        if (databaseExecutor instanceof ExecutorService executorService)
+        {
+            executorService.shutdown();
+
+            try
+            {
+                if (!executorService.awaitTermination(remainingMillis(deadline), TimeUnit.MILLISECONDS))
+                {
+                    dropped += executorService.shutdownNow().size();
+                }
+            }
+            catch (InterruptedException exception)
+            {
+                dropped += executorService.shutdownNow().size();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        dropped += writeQueue.shutdown(remainingMillis(deadline));
+
         for (Map.Entry<String, HikariDataSource> entry : dataSources.entrySet())
         {
             String key = entry.getKey();
@@ -337,13 +542,48 @@ public class DatabaseManager
         }
 
         dataSources.clear();
+        instances.remove(this);
+        ModuleResourceRegistry.untrackOwned(owner, this);
 
-        if (databaseExecutor instanceof java.util.concurrent.ExecutorService)
+        if (dropped > 0)
         {
-            ((java.util.concurrent.ExecutorService) databaseExecutor).shutdown();
+            LoggerUtils.warning("База данных остановлена с потерей операций: " + dropped);
         }
 
         LoggerUtils.debug("Система базы данных остановлена");
+        return dropped;
+    }
+
+    private static long remainingMillis(long deadline)
+    {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    public String getOwner()
+    {
+        return owner;
+    }
+
+    public int getPoolCount()
+    {
+        return dataSources.size();
+    }
+
+    public static int getPoolCount(String owner)
+    {
+        int count = 0;
+
+        for (DatabaseManager instance : instances)
+        {
+            if (instance.owner.equals(owner)) count += instance.dataSources.size();
+        }
+
+        return count;
+    }
+
+    public static List<DatabaseManager> getInstances()
+    {
+        return new ArrayList<>(instances);
     }
 
     private void setParameters(PreparedStatement statement, Object... params) throws SQLException
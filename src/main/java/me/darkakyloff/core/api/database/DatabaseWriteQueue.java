@@ -0,0 +1,581 @@
+package me.darkakyloff.core.api.database;
+
+import me.darkakyloff.core.utils.LoggerUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import org.bukkit.Bukkit;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class DatabaseWriteQueue
+{
+    private final Function<String, HikariDataSource> dataSourceProvider;
+    private final Map<String, PendingBatch> batches;
+    private final ScheduledExecutorService flushExecutor;
+    private final Semaphore capacity;
+    private final Object flushLock = new Object();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final AtomicBoolean isShutdown = new AtomicBoolean(false);
+    private final AtomicLong flushedCount = new AtomicLong(0);
+    private final AtomicLong coalescedCount = new AtomicLong(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+    private final AtomicLong failedCount = new AtomicLong(0);
+    private final AtomicLong retriedCount = new AtomicLong(0);
+
+    private final long flushInterval;
+    private final int batchSize;
+    private final int maxPending;
+    private final long offerTimeout;
+    private final int maxRetries;
+    private final long retryBackoff;
+
+    public DatabaseWriteQueue(Function<String, HikariDataSource> dataSourceProvider,
+                              long flushInterval, int batchSize, int maxPending, long offerTimeout)
+    {
+        this(dataSourceProvider, flushInterval, batchSize, maxPending, offerTimeout, 3, 1000);
+    }
+
+    public DatabaseWriteQueue(Function<String, HikariDataSource> dataSourceProvider,
+                              long flushInterval, int batchSize, int maxPending, long offerTimeout,
+                              int maxRetries, long retryBackoff)
+    {
+        this.dataSourceProvider = dataSourceProvider;
+        this.batches = new ConcurrentHashMap<>();
+        this.flushInterval = Math.max(10, flushInterval);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = Math.max(this.batchSize, maxPending);
+        this.offerTimeout = Math.max(0, offerTimeout);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoff = Math.max(this.flushInterval, retryBackoff);
+        this.capacity = new Semaphore(this.maxPending);
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "Database-Flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, this.flushInterval, this.flushInterval, TimeUnit.MILLISECONDS);
+
+        LoggerUtils.debug("Очередь отложенной записи запущена: интервал=" + this.flushInterval +
+                "мс, пакет=" + this.batchSize + ", лимит=" + this.maxPending + ", повторов=" + this.maxRetries);
+    }
+
+    public CompletableFuture<Void> enqueue(String databaseKey, String query, Object coalesceKey, Object... params)
+    {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        if (isShutdown.get())
+        {
+            LoggerUtils.warning("Очередь записи остановлена, запрос отклонен: " + query);
+            rejectedCount.incrementAndGet();
+            future.completeExceptionally(new IllegalStateException("Очередь записи остановлена"));
+            return future;
+        }
+
+        String batchKey = databaseKey + '\u0000' + query;
+        PendingWrite write = new PendingWrite(coalesceKey != null ? coalesceKey : new Object(), params, future);
+
+        if (coalesceKey != null)
+        {
+            boolean[] replaced = new boolean[1];
+
+            batches.computeIfPresent(batchKey, (key, batch) ->
+            {
+                replaced[0] = batch.replace(write);
+                return batch;
+            });
+
+            if (replaced[0])
+            {
+                coalescedCount.incrementAndGet();
+                return future;
+            }
+        }
+
+        if (!acquireCapacity())
+        {
+            LoggerUtils.warning("Очередь записи переполнена (" + maxPending + "), запрос отклонен: " + query);
+            rejectedCount.incrementAndGet();
+            future.completeExceptionally(new IllegalStateException("Очередь записи переполнена"));
+            return future;
+        }
+
+        int[] added = new int[1];
+
+        batches.compute(batchKey, (key, batch) ->
+        {
+            PendingBatch target = batch != null ? batch : new PendingBatch(key, databaseKey, query);
+            added[0] = target.add(write);
+            return target;
+        });
+
+        int size = added[0];
+
+        if (coalesceKey != null && size < 0)
+        {
+            capacity.release();
+            coalescedCount.incrementAndGet();
+            return future;
+        }
+
+        if (Math.abs(size) >= batchSize)
+        {
+            requestFlush();
+        }
+
+        return future;
+    }
+
+    public CompletableFuture<Void> flush()
+    {
+        if (flushExecutor.isShutdown())
+        {
+            return CompletableFuture.runAsync(this::flushSafely);
+        }
+
+        return CompletableFuture.runAsync(this::flushSafely, flushExecutor);
+    }
+
+    public void shutdown()
+    {
+        shutdown(5000);
+    }
+
+    public int shutdown(long timeoutMillis)
+    {
+        if (!isShutdown.compareAndSet(false, true)) return 0;
+
+        long deadline = System.currentTimeMillis() + Math.max(0, timeoutMillis);
+
+        flushExecutor.shutdown();
+
+        boolean drained;
+
+        try
+        {
+            drained = flushExecutor.awaitTermination(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException exception)
+        {
+            drained = false;
+            Thread.currentThread().interrupt();
+        }
+
+        int dropped = 0;
+
+        if (drained)
+        {
+            dropped = flushPending(deadline);
+        }
+        else
+        {
+            flushExecutor.shutdownNow();
+        }
+
+        dropped += discardPending();
+
+        if (dropped > 0)
+        {
+            LoggerUtils.warning("Очередь записи не успела сбросить данные за " + timeoutMillis + " мс, отброшено записей: " + dropped);
+        }
+
+        LoggerUtils.debug("Очередь отложенной записи остановлена: записано=" + flushedCount.get() +
+                ", объединено=" + coalescedCount.get() + ", отклонено=" + rejectedCount.get() +
+                ", повторов=" + retriedCount.get() + ", ошибок=" + failedCount.get() + ", отброшено=" + dropped);
+
+        return dropped;
+    }
+
+    private int discardPending()
+    {
+        int dropped = 0;
+
+        for (PendingBatch batch : batches.values())
+        {
+            dropped += dropWrites(batch.drain());
+            evictIfEmpty(batch);
+        }
+
+        return dropped;
+    }
+
+    private int dropWrites(List<PendingWrite> writes)
+    {
+        for (PendingWrite write : writes)
+        {
+            write.future.completeExceptionally(new IllegalStateException("Очередь записи остановлена до записи"));
+        }
+
+        capacity.release(writes.size());
+        return writes.size();
+    }
+
+    private void evictIfEmpty(PendingBatch batch)
+    {
+        batches.computeIfPresent(batch.key, (key, current) -> current == batch && current.isEmpty() ? null : current);
+    }
+
+    private boolean acquireCapacity()
+    {
+        if (capacity.tryAcquire()) return true;
+
+        requestFlush();
+
+        if (offerTimeout == 0 || Bukkit.isPrimaryThread()) return false;
+
+        try
+        {
+            return capacity.tryAcquire(offerTimeout, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void requestFlush()
+    {
+        if (flushExecutor.isShutdown() || !flushRequested.compareAndSet(false, true)) return;
+
+        flushExecutor.execute(this::flushSafely);
+    }
+
+    private void flushSafely()
+    {
+        flushPending(Long.MAX_VALUE);
+    }
+
+    private int flushPending(long deadline)
+    {
+        flushRequested.set(false);
+
+        synchronized (flushLock)
+        {
+            long now = System.currentTimeMillis();
+            int dropped = 0;
+
+            for (PendingBatch batch : batches.values())
+            {
+                List<PendingWrite> ready = new ArrayList<>();
+
+                for (PendingWrite write : batch.drain())
+                {
+                    if (write.notBefore <= now || isShutdown.get())
+                    {
+                        ready.add(write);
+                    }
+                    else if (!batch.restore(write))
+                    {
+                        capacity.release();
+                        coalescedCount.incrementAndGet();
+                    }
+                }
+
+                for (int from = 0; from < ready.size(); from += batchSize)
+                {
+                    List<PendingWrite> chunk = ready.subList(from, Math.min(ready.size(), from + batchSize));
+
+                    if (System.currentTimeMillis() >= deadline)
+                    {
+                        dropped += dropWrites(chunk);
+                        continue;
+                    }
+
+                    try
+                    {
+                        executeChunk(batch, chunk, deadline);
+                    }
+                    catch (Exception exception)
+                    {
+                        if (chunk.size() > 1 && !isTransient(exception))
+                        {
+                            executeRows(batch, chunk, deadline);
+                        }
+                        else
+                        {
+                            handleFailure(batch, chunk, exception);
+                        }
+                    }
+                }
+
+                evictIfEmpty(batch);
+            }
+
+            return dropped;
+        }
+    }
+
+    private void executeRows(PendingBatch batch, List<PendingWrite> writes, long deadline)
+    {
+        for (PendingWrite write : writes)
+        {
+            try
+            {
+                executeChunk(batch, List.of(write), deadline);
+            }
+            catch (Exception exception)
+            {
+                handleFailure(batch, List.of(write), exception);
+            }
+        }
+    }
+
+    private boolean isTransient(Throwable cause)
+    {
+        for (Throwable current = cause; current != null; current = current.getCause())
+        {
+            if (current instanceof SQLTransientException || current instanceof SQLRecoverableException) return true;
+
+            if (current instanceof SQLException)
+            {
+                String state = ((SQLException) current).getSQLState();
+
+                if (state != null && (state.startsWith("08") || state.startsWith("40"))) return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void handleFailure(PendingBatch batch, List<PendingWrite> writes, Exception cause)
+    {
+        long now = System.currentTimeMillis();
+        boolean retryable = isTransient(cause);
+        int retried = 0;
+        int failed = 0;
+        long nextDelay = 0;
+
+        for (PendingWrite write : writes)
+        {
+            write.attempts++;
+
+            if (retryable && write.attempts <= maxRetries && !isShutdown.get())
+            {
+                long delay = retryBackoff << Math.min(write.attempts - 1, 10);
+                write.notBefore = now + delay;
+                nextDelay = Math.max(nextDelay, delay);
+                retried++;
+
+                if (!batch.restore(write))
+                {
+                    capacity.release();
+                    coalescedCount.incrementAndGet();
+                }
+            }
+            else
+            {
+                write.future.completeExceptionally(cause);
+                capacity.release();
+                failed++;
+            }
+        }
+
+        if (retried > 0)
+        {
+            retriedCount.addAndGet(retried);
+            LoggerUtils.warning("Ошибка отложенной записи: " + batch.query + " (" + cause.getMessage() +
+                    "), повтор через " + nextDelay + " мс, записей: " + retried);
+        }
+
+        if (failed > 0)
+        {
+            failedCount.addAndGet(failed);
+            LoggerUtils.error("Ошибка отложенной записи: " + batch.query + ", потеряно записей" +
+                    (retryable ? " после " + maxRetries + " повторов" : "") + ": " + failed, cause);
+        }
+    }
+
+    private void executeChunk(PendingBatch batch, List<PendingWrite> writes, long deadline) throws SQLException
+    {
+        HikariDataSource dataSource = dataSourceProvider.apply(batch.databaseKey);
+
+        if (dataSource == null)
+        {
+            throw new IllegalStateException("База данных не найдена: " + batch.databaseKey);
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(batch.query))
+        {
+            if (deadline != Long.MAX_VALUE)
+            {
+                long remaining = deadline - System.currentTimeMillis();
+                statement.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remaining + 999)));
+            }
+
+            connection.setAutoCommit(false);
+
+            try
+            {
+                for (PendingWrite write : writes)
+                {
+                    Object[] params = write.params;
+
+                    for (int i = 0; i < params.length; i++)
+                    {
+                        if (params[i] == null) statement.setNull(i + 1, Types.NULL);
+                        else statement.setObject(i + 1, params[i]);
+                    }
+
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+                connection.commit();
+            }
+            catch (SQLException exception)
+            {
+                connection.rollback();
+                throw exception;
+            }
+            finally
+            {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        flushedCount.addAndGet(writes.size());
+        capacity.release(writes.size());
+
+        for (PendingWrite write : writes)
+        {
+            write.future.complete(null);
+        }
+    }
+
+    public int getPendingCount()
+    {
+        return maxPending - capacity.availablePermits();
+    }
+
+    public long getFlushedCount()
+    {
+        return flushedCount.get();
+    }
+
+    public long getCoalescedCount()
+    {
+        return coalescedCount.get();
+    }
+
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+    public long getFailedCount()
+    {
+        return failedCount.get();
+    }
+
+    public long getRetriedCount()
+    {
+        return retriedCount.get();
+    }
+
+    private static class PendingWrite
+    {
+        private final Object key;
+        private final Object[] params;
+        private final CompletableFuture<Void> future;
+        private int attempts = 0;
+        private long notBefore = 0;
+
+        private PendingWrite(Object key, Object[] params, CompletableFuture<Void> future)
+        {
+            this.key = key;
+            this.params = params;
+            this.future = future;
+        }
+
+        private void supersede(PendingWrite previous)
+        {
+            future.whenComplete((result, throwable) ->
+            {
+                if (throwable != null) previous.future.completeExceptionally(throwable);
+                else previous.future.complete(null);
+            });
+        }
+    }
+
+    private static class PendingBatch
+    {
+        private final String key;
+        private final String databaseKey;
+        private final String query;
+        private LinkedHashMap<Object, PendingWrite> rows = new LinkedHashMap<>();
+
+        private PendingBatch(String key, String databaseKey, String query)
+        {
+            this.key = key;
+            this.databaseKey = databaseKey;
+            this.query = query;
+        }
+
+        private synchronized boolean replace(PendingWrite write)
+        {
+            PendingWrite previous = rows.get(write.key);
+
+            if (previous == null) return false;
+
+            rows.put(write.key, write);
+            write.supersede(previous);
+            return true;
+        }
+
+        private synchronized int add(PendingWrite write)
+        {
+            PendingWrite previous = rows.put(write.key, write);
+
+            if (previous == null) return rows.size();
+
+            write.supersede(previous);
+            return -rows.size();
+        }
+
+        private synchronized boolean restore(PendingWrite write)
+        {
+            PendingWrite newer = rows.putIfAbsent(write.key, write);
+
+            if (newer == null) return true;
+
+            newer.supersede(write);
+            return false;
+        }
+
+        private synchronized boolean isEmpty()
+        {
+            return rows.isEmpty();
+        }
+
+        private synchronized List<PendingWrite> drain()
+        {
+            if (rows.isEmpty()) return List.of();
+
+            List<PendingWrite> drained = new ArrayList<>(rows.values());
+            rows = new LinkedHashMap<>();
+            return drained;
+        }
+    }
+}
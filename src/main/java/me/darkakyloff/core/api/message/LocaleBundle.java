@@ -0,0 +1,91 @@
+package me.darkakyloff.core.api.message;
+
+import me.darkakyloff.core.utils.LoggerUtils;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class LocaleBundle
+{
+    private final String locale;
+    private final Map<String, MessageTemplate> templates;
+    private final Map<String, List<MessageTemplate>> templateLists;
+
+    private volatile long lastAccess;
+
+    private LocaleBundle(String locale, Map<String, MessageTemplate> templates, Map<String, List<MessageTemplate>> templateLists)
+    {
+        this.locale = locale;
+        this.templates = templates;
+        this.templateLists = templateLists;
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    static LocaleBundle compile(String locale, ConfigurationSection root, Function<String, MessageTemplate> compiler)
+    {
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        Map<String, List<MessageTemplate>> templateLists = new HashMap<>();
+
+        if (root != null)
+        {
+            for (String key : root.getKeys(true))
+            {
+                try
+                {
+                    if (root.isString(key))
+                    {
+                        templates.put(key, compiler.apply(root.getString(key)));
+                    }
+                    else if (root.isList(key))
+                    {
+                        List<MessageTemplate> lines = new ArrayList<>();
+
+                        for (String rawMessage : root.getStringList(key))
+                        {
+                            lines.add(compiler.apply(rawMessage));
+                        }
+
+                        templateLists.put(key, List.copyOf(lines));
+                    }
+                }
+                catch (Exception exception)
+                {
+                    LoggerUtils.error("Ошибка компиляции сообщения " + key + " для локали " + locale, exception);
+                }
+            }
+        }
+
+        return new LocaleBundle(locale, Map.copyOf(templates), Map.copyOf(templateLists));
+    }
+
+    public MessageTemplate getTemplate(String messageKey)
+    {
+        lastAccess = System.currentTimeMillis();
+        return templates.get(messageKey);
+    }
+
+    public List<MessageTemplate> getTemplateList(String messageKey)
+    {
+        lastAccess = System.currentTimeMillis();
+        return templateLists.get(messageKey);
+    }
+
+    public String getLocale()
+    {
+        return locale;
+    }
+
+    public int size()
+    {
+        return templates.size() + templateLists.size();
+    }
+
+    public long getLastAccess()
+    {
+        return lastAccess;
+    }
+}
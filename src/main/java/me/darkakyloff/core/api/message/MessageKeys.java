@@ -8,7 +8,31 @@ public enum MessageKeys implements MessageKey
     SELF_USAGE("SELF_USAGE"),
     ERROR_COMMAND_USAGE("ERROR_COMMAND_USAGE"),
     ERROR_UNKNOWN("ERROR_UNKNOWN"),
-    REQUEST_TIMEOUT("REQUEST_TIMEOUT");
+    REQUEST_TIMEOUT("REQUEST_TIMEOUT"),
+
+    CORE_TASKS_RESET("CORE_TASKS_RESET"),
+    CORE_TASKS_HEADER("CORE_TASKS_HEADER"),
+    CORE_TASKS_ENTRY("CORE_TASKS_ENTRY"),
+    CORE_TASKS_PROBLEMS("CORE_TASKS_PROBLEMS"),
+    CORE_TICKS_RESET("CORE_TICKS_RESET"),
+    CORE_TICKS_DISABLED("CORE_TICKS_DISABLED"),
+    CORE_TICKS_HEADER("CORE_TICKS_HEADER"),
+    CORE_TICKS_OWNER("CORE_TICKS_OWNER"),
+    CORE_TICKS_ENTRY("CORE_TICKS_ENTRY"),
+    CORE_CACHES_RESET("CORE_CACHES_RESET"),
+    CORE_CACHES_HEADER("CORE_CACHES_HEADER"),
+    CORE_CACHES_ENTRY("CORE_CACHES_ENTRY"),
+    CORE_MODULES_HEADER("CORE_MODULES_HEADER"),
+    CORE_MODULES_ENTRY("CORE_MODULES_ENTRY"),
+    CORE_MODULES_RESOURCES("CORE_MODULES_RESOURCES"),
+    CORE_MODULES_ERROR("CORE_MODULES_ERROR"),
+    CORE_MODULES_LEAK("CORE_MODULES_LEAK"),
+    CORE_MODULES_FLAG_LAZY("CORE_MODULES_FLAG_LAZY"),
+    CORE_MODULES_FLAG_JAR("CORE_MODULES_FLAG_JAR"),
+    CORE_MODULES_RESCANNED("CORE_MODULES_RESCANNED"),
+    CORE_MODULES_RELOADED("CORE_MODULES_RELOADED"),
+    CORE_MODULES_RELOAD_USAGE("CORE_MODULES_RELOAD_USAGE"),
+    CORE_MODULES_NOT_FOUND("CORE_MODULES_NOT_FOUND");
 
     private final String key;
 
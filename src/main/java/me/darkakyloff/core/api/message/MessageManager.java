@@ -1,19 +1,36 @@
 package me.darkakyloff.core.api.message;
 
+import me.darkakyloff.core.api.cache.BoundedCache;
+import me.darkakyloff.core.api.config.ConfigChangeListener;
+import me.darkakyloff.core.api.config.ConfigSnapshot;
 import me.darkakyloff.core.api.config.ConfigurationManager;
+import me.darkakyloff.core.tasks.AsyncTaskScheduler;
+import me.darkakyloff.core.tasks.TaskHandle;
+import me.darkakyloff.core.tasks.TickProfiler;
+import me.darkakyloff.core.utils.ColorUtils;
 import me.darkakyloff.core.utils.LoggerUtils;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
-import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 public class MessageManager
 {
@@ -21,26 +38,64 @@ public class MessageManager
     private final MiniMessage miniMessage;
     private final LegacyComponentSerializer legacySerializer;
 
-    private final Map<String, Component> messageCache;
-    private final Map<String, List<Component>> messageListCache;
+    private static final int DEFAULT_CACHE_SIZE = 2048;
+    private static final int MAX_LOCALE_CHAINS = 256;
+
+    private BoundedCache<String, MessageTemplate> templateCache;
+    private BoundedCache<String, List<MessageTemplate>> templateListCache;
+    private volatile Map<String, MessageTemplate> compiledTemplates = Map.of();
+    private volatile Map<String, List<MessageTemplate>> compiledTemplateLists = Map.of();
+
+    private final Map<String, LocaleBundle> localeBundles;
+    private final Map<String, String[]> localeChains;
+    private final Set<String> missingLocales;
+    private final Set<String> loadingLocales;
+    private final AtomicLong localeGeneration;
+
+    private final ConfigChangeListener localizationListener;
+    private final ConfigChangeListener settingsListener;
+    private volatile long compiledVersion;
 
     private String localizationFile;
     private boolean cacheEnabled;
     private boolean debugMode;
 
+    private boolean localesEnabled;
+    private String defaultLocale;
+    private List<String> fallbackLocales;
+    private long localeIdleMillis;
+    private long localeUnloadCheckSeconds;
+
+    private AsyncTaskScheduler maintenanceScheduler;
+    private TaskHandle localeUnloadTask;
+
     public MessageManager(ConfigurationManager configManager)
     {
         this.configManager = configManager;
-        this.miniMessage = MiniMessage.miniMessage();
+        this.miniMessage = MiniMessage.builder().postProcessor(component -> component).build();
         this.legacySerializer = LegacyComponentSerializer.legacySection();
 
-        this.messageCache = new ConcurrentHashMap<>();
-        this.messageListCache = new ConcurrentHashMap<>();
+        createCaches(DEFAULT_CACHE_SIZE);
+
+        this.localeBundles = new ConcurrentHashMap<>();
+        this.localeChains = new ConcurrentHashMap<>();
+        this.missingLocales = ConcurrentHashMap.newKeySet();
+        this.loadingLocales = ConcurrentHashMap.newKeySet();
+        this.localeGeneration = new AtomicLong();
+
+        this.localizationListener = this::onLocalizationChanged;
+        this.settingsListener = (previous, current) -> onSettingsChanged();
 
         this.localizationFile = "localization.yml";
         this.cacheEnabled = true;
         this.debugMode = false;
 
+        this.localesEnabled = false;
+        this.defaultLocale = "ru";
+        this.fallbackLocales = List.of();
+        this.localeIdleMillis = TimeUnit.MINUTES.toMillis(30);
+        this.localeUnloadCheckSeconds = 300;
+
         LoggerUtils.debug("MessageManager инициализирован");
     }
 
@@ -48,23 +103,107 @@ public class MessageManager
     {
         loadSettings();
         clearCache();
+        precompileTemplates();
+
+        configManager.addChangeListener(localizationFile, localizationListener);
+        configManager.addChangeListener("settings.yml", "localization", settingsListener);
 
         LoggerUtils.debug("Система сообщений инициализирована");
     }
 
+    private void onLocalizationChanged(ConfigSnapshot previous, ConfigSnapshot current)
+    {
+        if (current.getVersion() == compiledVersion) return;
+
+        clearCache();
+        precompileTemplates();
+
+        clearLocaleBundles();
+        LoggerUtils.debug("Сообщения обновлены после изменения " + localizationFile);
+    }
+
+    private void onSettingsChanged()
+    {
+        String previousFile = localizationFile;
+
+        loadSettings();
+
+        if (!previousFile.equals(localizationFile))
+        {
+            configManager.removeChangeListener(previousFile, localizationListener);
+            configManager.addChangeListener(localizationFile, localizationListener);
+        }
+
+        clearCache();
+        precompileTemplates();
+        scheduleLocaleUnload();
+
+        clearLocaleBundles();
+        LoggerUtils.debug("Настройки локализации обновлены после изменения settings.yml");
+    }
+
     private void loadSettings()
     {
         this.localizationFile = configManager.getString("settings.yml", "localization.file", "localization.yml");
         this.cacheEnabled = configManager.getBoolean("settings.yml", "localization.cache-enabled", true);
         this.debugMode = configManager.getBoolean("settings.yml", "localization.debug-mode", false);
 
+        int cacheSize = Math.max(16, configManager.getInt("settings.yml", "localization.cache-size", DEFAULT_CACHE_SIZE));
+
+        if (templateCache.getMaxEntries() != cacheSize)
+        {
+            createCaches(cacheSize);
+        }
+
+        this.localesEnabled = configManager.getBoolean("settings.yml", "localization.locales.enabled", true);
+        this.defaultLocale = normalizeLocale(configManager.getString("settings.yml", "localization.locales.default", "ru"));
+        this.localeUnloadCheckSeconds = Math.max(1, configManager.getLong("settings.yml", "localization.locales.unload-check", 300));
+        this.localeIdleMillis = TimeUnit.MINUTES.toMillis(
+                Math.max(1, configManager.getLong("settings.yml", "localization.locales.idle-unload", 30)));
+
+        List<String> fallbacks = new ArrayList<>();
+
+        for (String fallback : configManager.getStringList("settings.yml", "localization.locales.fallback"))
+        {
+            String normalized = normalizeLocale(fallback);
+
+            if (normalized != null) fallbacks.add(normalized);
+        }
+
+        this.fallbackLocales = List.copyOf(fallbacks);
+        localeChains.clear();
+
         LoggerUtils.debug("Настройки локализации загружены: файл=" + localizationFile +
-                ", кеш=" + cacheEnabled + ", отладка=" + debugMode);
+                ", кеш=" + cacheEnabled + ", отладка=" + debugMode +
+                ", локали=" + localesEnabled + ", по умолчанию=" + defaultLocale);
+    }
+
+    private void createCaches(int cacheSize)
+    {
+        if (templateCache != null) templateCache.close();
+        if (templateListCache != null) templateListCache.close();
+
+        templateCache = new BoundedCache<>("messages", cacheSize);
+        templateListCache = new BoundedCache<>("message-lists", cacheSize, cacheSize * 4L, List::size);
     }
 
     public void sendMessage(CommandSender recipient, String messageKey, Object... placeholders)
     {
-        Component message = getMessage(messageKey, placeholders);
+        long start = TickProfiler.start();
+
+        try
+        {
+            deliverMessage(recipient, messageKey, placeholders);
+        }
+        finally
+        {
+            TickProfiler.finish(TickProfiler.Category.MESSAGE, start);
+        }
+    }
+
+    private void deliverMessage(CommandSender recipient, String messageKey, Object... placeholders)
+    {
+        Component message = getMessage(recipient, messageKey, placeholders);
 
         if (message == null)
         {
@@ -89,9 +228,114 @@ public class MessageManager
         }
     }
 
+    public int broadcast(String messageKey, Predicate<Player> filter, Object... placeholders)
+    {
+        List<CommandSender> recipients = new ArrayList<>();
+
+        for (Player player : Bukkit.getOnlinePlayers())
+        {
+            if (filter == null || filter.test(player))
+            {
+                recipients.add(player);
+            }
+        }
+
+        recipients.add(Bukkit.getConsoleSender());
+
+        return broadcast(recipients, messageKey, placeholders);
+    }
+
+    public int broadcast(Collection<? extends CommandSender> recipients, String messageKey, Object... placeholders)
+    {
+        return deliverBroadcast(recipients, messageKey, null, placeholders);
+    }
+
+    public int broadcastWithRecipient(Collection<? extends CommandSender> recipients, String messageKey,
+                                      String recipientSlot, Object... placeholders)
+    {
+        return deliverBroadcast(recipients, messageKey, recipientSlot, placeholders);
+    }
+
+    private int deliverBroadcast(Collection<? extends CommandSender> recipients, String messageKey,
+                                 String recipientSlot, Object... placeholders)
+    {
+        long start = TickProfiler.start();
+
+        try
+        {
+            Map<MessageTemplate, Component> rendered = new IdentityHashMap<>(4);
+            Map<MessageTemplate, String> serialized = new IdentityHashMap<>(2);
+            Object[] recipientPlaceholders = null;
+            int delivered = 0;
+
+            for (CommandSender recipient : recipients)
+            {
+                MessageTemplate template = getTemplate(recipient, messageKey);
+
+                if (template == null) continue;
+
+                if (recipientSlot != null && template.hasSlot(recipientSlot))
+                {
+                    if (recipientPlaceholders == null)
+                    {
+                        recipientPlaceholders = new Object[placeholders.length + 2];
+                        System.arraycopy(placeholders, 0, recipientPlaceholders, 0, placeholders.length);
+                        recipientPlaceholders[placeholders.length] = recipientSlot;
+                    }
+
+                    recipientPlaceholders[recipientPlaceholders.length - 1] = recipient.getName();
+                    Component message = template.render(recipientPlaceholders);
+
+                    if (recipient instanceof Player) ((Player) recipient).sendMessage(message);
+                    else recipient.sendMessage(legacySerializer.serialize(message));
+                }
+                else
+                {
+                    Component message = rendered.computeIfAbsent(template, entry -> entry.render(placeholders));
+
+                    if (recipient instanceof Player) ((Player) recipient).sendMessage(message);
+                    else recipient.sendMessage(serialized.computeIfAbsent(template, entry -> legacySerializer.serialize(message)));
+                }
+
+                delivered++;
+            }
+
+            if (delivered == 0 && !recipients.isEmpty())
+            {
+                LoggerUtils.warning("Сообщение не найдено: " + messageKey);
+            }
+
+            if (debugMode)
+            {
+                LoggerUtils.debug("Сообщение разослано " + delivered + " получателям: " + messageKey +
+                        " (вариантов рендера: " + rendered.size() + ")");
+            }
+
+            return delivered;
+        }
+        finally
+        {
+            TickProfiler.finish(TickProfiler.Category.MESSAGE, start);
+        }
+    }
+
     public void sendMessageList(CommandSender recipient, String messageKey, Object... placeholders)
     {
-        List<Component> messages = getMessageList(messageKey, placeholders);
+        long start = TickProfiler.start();
+
+        try
+        {
+            deliverMessageList(recipient, messageKey, placeholders);
+        }
+        finally
+        {
+            TickProfiler.finish(TickProfiler.Category.MESSAGE, start);
+        }
+    }
+
+    private void deliverMessageList(CommandSender recipient, String messageKey, Object... placeholders)
+    {
+        List<Component> messages = getMessageList(recipient, messageKey, placeholders);
 
         if (messages.isEmpty())
         {
@@ -121,184 +365,463 @@ public class MessageManager
 
     public Component getMessage(String messageKey, Object... placeholders)
     {
-        String cacheKey = createCacheKey(messageKey, placeholders);
+        return getMessage((CommandSender) null, messageKey, placeholders);
+    }
+
+    public Component getMessage(CommandSender recipient, String messageKey, Object... placeholders)
+    {
+        MessageTemplate template = getTemplate(recipient, messageKey);
 
-        if (cacheEnabled && messageCache.containsKey(cacheKey))
+        if (template == null)
         {
-            return messageCache.get(cacheKey);
+            LoggerUtils.warning("Сообщение не найдено в конфигурации: " + messageKey);
+            return Component.text("Сообщение не найдено: " + messageKey);
         }
 
-        String rawMessage = configManager.getString(localizationFile, messageKey);
+        return template.render(placeholders);
+    }
 
-        if (rawMessage == null)
+    public List<Component> getMessageList(String messageKey, Object... placeholders)
+    {
+        return getMessageList((CommandSender) null, messageKey, placeholders);
+    }
+
+    public List<Component> getMessageList(CommandSender recipient, String messageKey, Object... placeholders)
+    {
+        List<MessageTemplate> templates = getTemplateList(recipient, messageKey);
+
+        if (templates.isEmpty())
         {
-            LoggerUtils.warning("Сообщение не найдено в конфигурации: " + messageKey);
-            return Component.text("Сообщение не найдено: " + messageKey);
+            LoggerUtils.warning("Список сообщений не найден в конфигурации: " + messageKey);
+            return List.of();
         }
 
-        TagResolver resolver = createTagResolver(placeholders);
+        List<Component> components = new ArrayList<>(templates.size());
 
-        String processedMessage = convertLegacyToMiniMessage(rawMessage);
+        for (MessageTemplate template : templates)
+        {
+            components.add(template.render(placeholders));
+        }
 
-        Component component = miniMessage.deserialize(processedMessage, resolver);
+        return components;
+    }
 
-        if (cacheEnabled)
+    public MessageTemplate getTemplate(CommandSender recipient, String messageKey)
+    {
+        String[] chain = getLocaleChain(recipient);
+
+        if (chain != null)
         {
-            messageCache.put(cacheKey, component);
+            for (String locale : chain)
+            {
+                LocaleBundle bundle = getLocaleBundle(locale);
+                MessageTemplate template = bundle != null ? bundle.getTemplate(messageKey) : null;
+
+                if (template != null) return template;
+            }
         }
 
-        return component;
+        return getTemplate(messageKey);
     }
 
-    public List<Component> getMessageList(String messageKey, Object... placeholders)
+    public List<MessageTemplate> getTemplateList(CommandSender recipient, String messageKey)
     {
-        String cacheKey = createCacheKey(messageKey, placeholders);
+        String[] chain = getLocaleChain(recipient);
 
-        if (cacheEnabled && messageListCache.containsKey(cacheKey))
+        if (chain != null)
         {
-            return messageListCache.get(cacheKey);
+            for (String locale : chain)
+            {
+                LocaleBundle bundle = getLocaleBundle(locale);
+                List<MessageTemplate> templates = bundle != null ? bundle.getTemplateList(messageKey) : null;
+
+                if (templates != null) return templates;
+            }
         }
 
-        List<String> rawMessages = configManager.getStringList(localizationFile, messageKey);
+        return getTemplateList(messageKey);
+    }
+
+    public MessageTemplate getTemplate(String messageKey)
+    {
+        MessageTemplate template = compiledTemplates.get(messageKey);
+
+        if (template != null) return template;
 
-        if (rawMessages.isEmpty())
+        template = templateCache.get(messageKey);
+
+        if (template != null) return template;
+
+        String rawMessage = configManager.getString(localizationFile, messageKey);
+
+        if (rawMessage == null) return null;
+
+        template = compileTemplate(rawMessage);
+
+        if (cacheEnabled)
         {
-            LoggerUtils.warning("Список сообщений не найден в конфигурации: " + messageKey);
-            return List.of();
+            templateCache.put(messageKey, template);
         }
 
-        List<Component> components = new ArrayList<>();
-        TagResolver resolver = createTagResolver(placeholders);
+        return template;
+    }
+
+    public List<MessageTemplate> getTemplateList(String messageKey)
+    {
+        List<MessageTemplate> templates = compiledTemplateLists.get(messageKey);
+
+        if (templates != null) return templates;
+
+        templates = templateListCache.get(messageKey);
+
+        if (templates != null) return templates;
+
+        List<String> rawMessages = configManager.getStringList(localizationFile, messageKey);
+
+        if (rawMessages.isEmpty()) return List.of();
+
+        List<MessageTemplate> compiled = new ArrayList<>(rawMessages.size());
 
         for (String rawMessage : rawMessages)
         {
-            String processedMessage = convertLegacyToMiniMessage(rawMessage);
-            Component component = miniMessage.deserialize(processedMessage, resolver);
-            components.add(component);
+            compiled.add(compileTemplate(rawMessage));
         }
 
+        templates = List.copyOf(compiled);
+
         if (cacheEnabled)
         {
-            messageListCache.put(cacheKey, components);
+            templateListCache.put(messageKey, templates);
         }
 
-        return components;
+        return templates;
     }
 
-    public String getMessageAsString(String messageKey, Object... placeholders)
+    public LocaleBundle getLocaleBundle(String locale)
     {
-        Component component = getMessage(messageKey, placeholders);
-        return component != null ? legacySerializer.serialize(component) : "Сообщение не найдено: " + messageKey + "";
+        LocaleBundle bundle = localeBundles.get(locale);
+
+        if (bundle == null && !missingLocales.contains(locale))
+        {
+            requestLocaleLoad(locale);
+        }
+
+        return bundle;
     }
 
-    public boolean hasMessage(String messageKey)
+    public Set<String> getLoadedLocales()
     {
-        return configManager.contains(localizationFile, messageKey);
+        return Set.copyOf(localeBundles.keySet());
     }
 
-    public void setLocalizationFile(String fileName)
+    public synchronized void startMaintenance(AsyncTaskScheduler scheduler)
     {
-        this.localizationFile = fileName;
-        clearCache();
-        LoggerUtils.debug("Файл локализации изменен на: " + fileName);
+        this.maintenanceScheduler = scheduler;
+        scheduleLocaleUnload();
     }
 
-    public void setCacheEnabled(boolean enabled)
+    public synchronized void stopMaintenance()
     {
-        this.cacheEnabled = enabled;
-        if (!enabled)
+        if (localeUnloadTask != null)
         {
-            clearCache();
+            localeUnloadTask.cancel();
+            localeUnloadTask = null;
         }
-        LoggerUtils.debug("Кеширование сообщений " + (enabled ? "включено" : "отключено"));
+
+        maintenanceScheduler = null;
     }
 
-    public void setDebugMode(boolean enabled)
+    private synchronized void scheduleLocaleUnload()
     {
-        this.debugMode = enabled;
-        LoggerUtils.debug("Режим отладки сообщений " + (enabled ? "включен" : "отключен"));
+        if (maintenanceScheduler == null) return;
+
+        if (localeUnloadTask != null)
+        {
+            localeUnloadTask.cancel();
+        }
+
+        long periodTicks = 20L * localeUnloadCheckSeconds;
+        localeUnloadTask = maintenanceScheduler.scheduleRepeating("locale-idle-unload", this::unloadIdleLocales, periodTicks, periodTicks);
     }
 
-    public void clearCache()
+    public int unloadIdleLocales()
     {
-        messageCache.clear();
-        messageListCache.clear();
-        LoggerUtils.debug("Кеш сообщений очищен");
+        long threshold = System.currentTimeMillis() - localeIdleMillis;
+        int unloaded = 0;
+
+        for (LocaleBundle bundle : localeBundles.values())
+        {
+            if (bundle.getLastAccess() < threshold && localeBundles.remove(bundle.getLocale(), bundle))
+            {
+                unloaded++;
+            }
+        }
+
+        missingLocales.clear();
+
+        if (unloaded > 0)
+        {
+            LoggerUtils.debug("Выгружено неиспользуемых локалей: " + unloaded);
+        }
+
+        return unloaded;
     }
 
-    public void reload()
+    private String[] getLocaleChain(CommandSender recipient)
     {
-        configManager.reloadConfig(localizationFile);
-        clearCache();
-        loadSettings();
-        LoggerUtils.debug("Система сообщений перезагружена");
+        if (!localesEnabled || !(recipient instanceof Player)) return null;
+
+        String clientLocale = ((Player) recipient).getLocale();
+
+        if (clientLocale == null || clientLocale.isEmpty()) return null;
+
+        String[] chain = localeChains.get(clientLocale);
+
+        if (chain == null)
+        {
+            chain = buildLocaleChain(clientLocale);
+
+            if (localeChains.size() < MAX_LOCALE_CHAINS)
+            {
+                localeChains.put(clientLocale, chain);
+            }
+        }
+
+        return chain.length > 0 ? chain : null;
+    }
+
+    private String[] buildLocaleChain(String clientLocale)
+    {
+        String locale = normalizeLocale(clientLocale);
+
+        if (locale == null) return new String[0];
+
+        Set<String> chain = new LinkedHashSet<>();
+        chain.add(locale);
+
+        int separator = locale.indexOf('_');
+
+        if (separator > 0)
+        {
+            chain.add(locale.substring(0, separator));
+        }
+
+        chain.addAll(fallbackLocales);
+
+        List<String> result = new ArrayList<>();
+
+        for (String candidate : chain)
+        {
+            if (candidate.equals(defaultLocale)) break;
+
+            result.add(candidate);
+        }
+
+        return result.toArray(new String[0]);
     }
 
-    private TagResolver createTagResolver(Object... placeholders)
+    private static String normalizeLocale(String locale)
     {
-        if (placeholders.length == 0)
+        if (locale == null) return null;
+
+        String normalized = locale.trim().toLowerCase(Locale.ROOT).replace('-', '_');
+
+        if (normalized.isEmpty() || normalized.length() > 16) return null;
+
+        for (int i = 0; i < normalized.length(); i++)
         {
-            return TagResolver.empty();
+            char current = normalized.charAt(i);
+
+            if ((current < 'a' || current > 'z') && (current < '0' || current > '9') && current != '_') return null;
         }
 
-        TagResolver.Builder builder = TagResolver.builder();
+        return normalized;
+    }
 
-        for (int i = 0; i < placeholders.length; i += 2)
+    private void requestLocaleLoad(String locale)
+    {
+        if (!loadingLocales.add(locale)) return;
+
+        long generation = localeGeneration.get();
+
+        CompletableFuture.runAsync(() -> loadLocaleBundle(locale, generation)).whenComplete((result, throwable) ->
         {
-            if (i + 1 < placeholders.length)
+            loadingLocales.remove(locale);
+
+            if (throwable != null)
             {
-                String key = String.valueOf(placeholders[i]);
-                String value = String.valueOf(placeholders[i + 1]);
+                markLocaleMissing(locale, generation);
+                LoggerUtils.error("Ошибка загрузки локали: " + locale, throwable);
+            }
+        });
+    }
+
+    private void loadLocaleBundle(String locale, long generation)
+    {
+        String fileName = getLocaleFileName(locale);
+
+        if (!configManager.hasConfigFile(fileName) || !configManager.loadConfig(fileName))
+        {
+            markLocaleMissing(locale, generation);
+            LoggerUtils.debug("Файл локали не найден: " + fileName);
+            return;
+        }
+
+        try
+        {
+            LocaleBundle bundle = LocaleBundle.compile(locale,
+                    configManager.getConfigurationSection(fileName, ""), this::compileTemplate);
+
+            localeBundles.put(locale, bundle);
 
-                builder.resolver(Placeholder.parsed(key, value));
+            if (localeGeneration.get() != generation)
+            {
+                localeBundles.remove(locale, bundle);
+                LoggerUtils.debug("Устаревшая загрузка локали отброшена: " + locale);
+                return;
             }
+
+            LoggerUtils.debug("Локаль загружена: " + locale + " (сообщений: " + bundle.size() + ")");
+        }
+        finally
+        {
+            configManager.unloadConfig(fileName);
+        }
+    }
+
+    private void markLocaleMissing(String locale, long generation)
+    {
+        missingLocales.add(locale);
+
+        if (localeGeneration.get() != generation)
+        {
+            missingLocales.remove(locale);
         }
+    }
 
-        return builder.build();
+    private void clearLocaleBundles()
+    {
+        localeGeneration.incrementAndGet();
+        localeBundles.clear();
+        missingLocales.clear();
     }
 
-    private String convertLegacyToMiniMessage(String message)
+    private String getLocaleFileName(String locale)
     {
-        return message
-                .replaceAll("&0", "<black>")
-                .replaceAll("&1", "<dark_blue>")
-                .replaceAll("&2", "<dark_green>")
-                .replaceAll("&3", "<dark_aqua>")
-                .replaceAll("&4", "<dark_red>")
-                .replaceAll("&5", "<dark_purple>")
-                .replaceAll("&6", "<gold>")
-                .replaceAll("&7", "<gray>")
-                .replaceAll("&8", "<dark_gray>")
-                .replaceAll("&9", "<blue>")
-                .replaceAll("&a", "<green>")
-                .replaceAll("&b", "<aqua>")
-                .replaceAll("&c", "<red>")
-                .replaceAll("&d", "<light_purple>")
-                .replaceAll("&e", "<yellow>")
-                .replaceAll("&f", "<white>")
-                .replaceAll("&k", "<obfuscated>")
-                .replaceAll("&l", "<bold>")
-                .replaceAll("&m", "<strikethrough>")
-                .replaceAll("&n", "<underlined>")
-                .replaceAll("&o", "<italic>")
-                .replaceAll("&r", "<reset>");
+        String baseName = localizationFile.endsWith(".yml")
+                ? localizationFile.substring(0, localizationFile.length() - 4)
+                : localizationFile;
+
+        return baseName + "_" + locale + ".yml";
     }
 
-    private String createCacheKey(String messageKey, Object... placeholders)
+    private MessageTemplate compileTemplate(String rawMessage)
     {
-        if (placeholders.length == 0)
+        return MessageTemplate.compile(miniMessage, ColorUtils.legacyToMiniMessage(rawMessage));
+    }
+
+    private void precompileTemplates()
+    {
+        compiledVersion = configManager.getSnapshot(localizationFile).getVersion();
+
+        if (!cacheEnabled) return;
+
+        ConfigurationSection root = configManager.getConfigurationSection(localizationFile, "");
+
+        if (root == null) return;
+
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        Map<String, List<MessageTemplate>> templateLists = new HashMap<>();
+
+        for (String key : root.getKeys(true))
         {
-            return messageKey;
+            try
+            {
+                if (root.isString(key))
+                {
+                    templates.put(key, compileTemplate(root.getString(key)));
+                }
+                else if (root.isList(key))
+                {
+                    List<MessageTemplate> compiledList = new ArrayList<>();
+
+                    for (String rawMessage : root.getStringList(key))
+                    {
+                        compiledList.add(compileTemplate(rawMessage));
+                    }
+
+                    templateLists.put(key, List.copyOf(compiledList));
+                }
+            }
+            catch (Exception exception)
+            {
+                LoggerUtils.error("Ошибка компиляции сообщения: " + key, exception);
+            }
         }
 
-        StringBuilder builder = new StringBuilder(messageKey);
-        builder.append("|");
+        compiledTemplates = Map.copyOf(templates);
+        compiledTemplateLists = Map.copyOf(templateLists);
 
-        for (Object placeholder : placeholders)
+        LoggerUtils.debug("Шаблоны сообщений скомпилированы: " + (templates.size() + templateLists.size()));
+    }
+
+    public String getMessageAsString(String messageKey, Object... placeholders)
+    {
+        Component component = getMessage(messageKey, placeholders);
+        return component != null ? legacySerializer.serialize(component) : "Сообщение не найдено: " + messageKey + "";
+    }
+
+    public boolean hasMessage(String messageKey)
+    {
+        return configManager.contains(localizationFile, messageKey);
+    }
+
+    public void setLocalizationFile(String fileName)
+    {
+        configManager.removeChangeListener(localizationFile, localizationListener);
+        configManager.addChangeListener(fileName, localizationListener);
+
+        this.localizationFile = fileName;
+        clearCache();
+        precompileTemplates();
+
+        clearLocaleBundles();
+        LoggerUtils.debug("Файл локализации изменен на: " + fileName);
+    }
+
+    public void setCacheEnabled(boolean enabled)
+    {
+        this.cacheEnabled = enabled;
+        if (!enabled)
         {
-            builder.append(placeholder).append("|");
+            clearCache();
         }
+        LoggerUtils.debug("Кеширование сообщений " + (enabled ? "включено" : "отключено"));
+    }
+
+    public void setDebugMode(boolean enabled)
+    {
+        this.debugMode = enabled;
+        LoggerUtils.debug("Режим отладки сообщений " + (enabled ? "включен" : "отключен"));
+    }
 
-        return builder.toString();
+    public void clearCache()
+    {
+        compiledTemplates = Map.of();
+        compiledTemplateLists = Map.of();
+        templateCache.invalidateAll();
+        templateListCache.invalidateAll();
+        LoggerUtils.debug("Кеш сообщений очищен");
+    }
+
+    public void reload()
+    {
+        configManager.reloadConfig(localizationFile);
+        clearCache();
+        loadSettings();
+        precompileTemplates();
+
+        clearLocaleBundles();
+        LoggerUtils.debug("Система сообщений перезагружена");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,163 @@
+package me.darkakyloff.core.api.message;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class MessageTemplate
+{
+    private static final char SLOT_MARKER = '\uE000';
+
+    private final MiniMessage miniMessage;
+    private final Component component;
+    private final int slotCount;
+    private final Set<String> slotNames;
+
+    private MessageTemplate(MiniMessage miniMessage, Component component, int slotCount, Set<String> slotNames)
+    {
+        this.miniMessage = miniMessage;
+        this.component = component;
+        this.slotCount = slotCount;
+        this.slotNames = slotNames;
+    }
+
+    public static MessageTemplate compile(MiniMessage miniMessage, String source)
+    {
+        SlotResolver resolver = new SlotResolver();
+        Component component = miniMessage.deserialize(source, resolver);
+
+        return new MessageTemplate(miniMessage, component, resolver.slotCount, Set.copyOf(resolver.slotNames));
+    }
+
+    public Component render(Object... placeholders)
+    {
+        if (slotCount == 0) return component;
+
+        return renderNode(component, placeholders);
+    }
+
+    public boolean hasSlots()
+    {
+        return slotCount > 0;
+    }
+
+    public int getSlotCount()
+    {
+        return slotCount;
+    }
+
+    public boolean hasSlot(String name)
+    {
+        return slotNames.contains(name);
+    }
+
+    public Set<String> getSlotNames()
+    {
+        return slotNames;
+    }
+
+    private Component renderNode(Component node, Object[] placeholders)
+    {
+        if (node instanceof TextComponent)
+        {
+            String content = ((TextComponent) node).content();
+
+            if (content.length() > 1 && content.charAt(0) == SLOT_MARKER)
+            {
+                return renderSlot(node, content.substring(1), placeholders);
+            }
+        }
+
+        List<Component> children = node.children();
+        List<Component> rendered = null;
+
+        for (int i = 0; i < children.size(); i++)
+        {
+            Component child = children.get(i);
+            Component renderedChild = renderNode(child, placeholders);
+
+            if (rendered == null && renderedChild != child)
+            {
+                rendered = new ArrayList<>(children.size());
+                rendered.addAll(children.subList(0, i));
+            }
+
+            if (rendered != null)
+            {
+                rendered.add(renderedChild);
+            }
+        }
+
+        Component result = rendered != null ? node.children(rendered) : node;
+        HoverEvent<?> hoverEvent = result.hoverEvent();
+
+        if (hoverEvent != null && hoverEvent.action() == HoverEvent.Action.SHOW_TEXT)
+        {
+            Component hoverText = (Component) hoverEvent.value();
+            Component renderedHover = renderNode(hoverText, placeholders);
+
+            if (renderedHover != hoverText)
+            {
+                result = result.hoverEvent(HoverEvent.showText(renderedHover));
+            }
+        }
+
+        return result;
+    }
+
+    private Component renderSlot(Component marker, String name, Object[] placeholders)
+    {
+        for (int i = 0; i + 1 < placeholders.length; i += 2)
+        {
+            if (name.equals(String.valueOf(placeholders[i])))
+            {
+                return toComponent(placeholders[i + 1]).applyFallbackStyle(marker.style());
+            }
+        }
+
+        return Component.text("<" + name + ">", marker.style());
+    }
+
+    private Component toComponent(Object value)
+    {
+        if (value instanceof ComponentLike)
+        {
+            return ((ComponentLike) value).asComponent();
+        }
+
+        String text = String.valueOf(value);
+
+        return text.indexOf('<') >= 0 ? miniMessage.deserialize(text) : Component.text(text);
+    }
+
+    private static final class SlotResolver implements TagResolver
+    {
+        private final Set<String> slotNames = new HashSet<>();
+        private int slotCount = 0;
+
+        @Override
+        public Tag resolve(String name, ArgumentQueue arguments, Context context)
+        {
+            slotCount++;
+            slotNames.add(name);
+            return Tag.selfClosingInserting(Component.text(SLOT_MARKER + name));
+        }
+
+        @Override
+        public boolean has(String name)
+        {
+            return true;
+        }
+    }
+}
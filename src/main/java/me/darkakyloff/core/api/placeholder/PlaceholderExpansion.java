@@ -1,5 +1,6 @@
 package me.darkakyloff.core.api.placeholder;
 
+import me.darkakyloff.core.tasks.TickProfiler;
 import me.darkakyloff.core.utils.LoggerUtils;
 import org.bukkit.OfflinePlayer;
 
@@ -11,13 +12,20 @@ public class PlaceholderExpansion extends me.clip.placeholderapi.expansion.Place
     private final String identifier;
     private final String version;
     private final String author;
+    private final String owner;
     private final Map<String, PlaceholderHandler> handlers;
 
     public PlaceholderExpansion(String identifier, String version, String author)
+    {
+        this(identifier, version, author, TickProfiler.DEFAULT_OWNER);
+    }
+
+    public PlaceholderExpansion(String identifier, String version, String author, String owner)
     {
         this.identifier = identifier.toLowerCase();
         this.version = version;
         this.author = author;
+        this.owner = owner;
         this.handlers = new ConcurrentHashMap<>();
         
         LoggerUtils.debug("Создана экспансия плейсхолдеров: " + identifier);
@@ -54,7 +62,21 @@ public class PlaceholderExpansion extends me.clip.placeholderapi.expansion.Place
         {
             return null;
         }
-        
+
+        long start = TickProfiler.start();
+
+        try
+        {
+            return resolve(player, params);
+        }
+        finally
+        {
+            TickProfiler.finish(owner, TickProfiler.Category.PLACEHOLDER, start);
+        }
+    }
+
+    private String resolve(OfflinePlayer player, String params)
+    {
         PlaceholderHandler handler = handlers.get(params.toLowerCase());
         
         if (handler != null)
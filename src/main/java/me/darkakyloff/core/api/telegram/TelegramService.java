@@ -1,5 +1,6 @@
 package me.darkakyloff.core.api.telegram;
 
+import me.darkakyloff.core.modules.ModuleResourceRegistry;
 import me.darkakyloff.core.utils.LoggerUtils;
 import com.pengrad.telegrambot.TelegramBot;
 import com.pengrad.telegrambot.UpdatesListener;
@@ -11,33 +12,65 @@ import com.pengrad.telegrambot.request.SendMessage;
 import com.pengrad.telegrambot.response.BaseResponse;
 import com.pengrad.telegrambot.response.SendResponse;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 public class TelegramService
 {
     private final String botToken;
-    private TelegramBot bot;
-    private final AtomicBoolean isRunning = new AtomicBoolean(false);
+    private final String apiUrl;
+    private volatile TelegramBot bot;
+    private final AtomicReference<TelegramState> state = new AtomicReference<>(TelegramState.STOPPED);
     private final AtomicBoolean isShuttingDown = new AtomicBoolean(false);
+    private final AtomicInteger connectAttempts = new AtomicInteger();
+
+    private final List<TelegramStateListener> stateListeners = new CopyOnWriteArrayList<>();
+    private final Map<TelegramStateListener, String> stateListenerOwners = new ConcurrentHashMap<>();
+    private final Queue<QueuedMessage> queuedMessages = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService connectExecutor;
+
+    private long initialBackoffMillis = 1000;
+    private long maxBackoffMillis = 60000;
+    private int maxQueuedMessages = 100;
 
     private final Map<String, TelegramEventHandler> eventHandlers = new ConcurrentHashMap<>();
+    private final Map<TelegramEventHandler, String> handlerOwners = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<?>> pendingRequests = ConcurrentHashMap.newKeySet();
 
     private boolean debugMode = false;
 
     public TelegramService(String botToken)
+    {
+        this(botToken, null);
+    }
+
+    public TelegramService(String botToken, String apiUrl)
     {
         this.botToken = botToken;
+        this.apiUrl = apiUrl;
         LoggerUtils.debug("TelegramService создан");
     }
 
     public boolean initialize()
     {
-        if (isRunning.get())
+        if (state.get() != TelegramState.STOPPED)
         {
             LoggerUtils.warning("Telegram сервис уже запущен");
             return true;
@@ -53,32 +86,169 @@ public class TelegramService
         {
             LoggerUtils.debug("Инициализация Telegram сервиса...");
 
-            bot = new TelegramBot(botToken);
+            bot = createBot(botToken);
+
+            connectExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+            {
+                Thread thread = new Thread(runnable, "Core-Telegram-Connect");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            connectAttempts.set(0);
+            isShuttingDown.set(false);
+
+            if (!setState(TelegramState.STOPPED, TelegramState.CONNECTING)) return true;
+
+            scheduleConnect(0);
+
+            LoggerUtils.debug("Telegram сервис инициализирован, подключение выполняется в фоне");
+            return true;
+        }
+        catch (Exception exception)
+        {
+            LoggerUtils.error("Ошибка инициализации Telegram сервиса", exception);
+            return false;
+        }
+    }
+
+    private TelegramBot createBot(String token)
+    {
+        if (apiUrl == null || apiUrl.isEmpty())
+        {
+            return new TelegramBot(token);
+        }
+
+        return new TelegramBot.Builder(token).apiUrl(apiUrl).build();
+    }
+
+    private void scheduleConnect(long delayMillis)
+    {
+        ScheduledExecutorService executor = connectExecutor;
 
+        if (executor == null || executor.isShutdown()) return;
+
+        try
+        {
+            executor.schedule(this::connect, delayMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException exception)
+        {
+            LoggerUtils.debug("Подключение к Telegram отменено: сервис остановлен");
+        }
+    }
+
+    private void connect()
+    {
+        if (state.get() != TelegramState.CONNECTING) return;
+
+        int attempt = connectAttempts.incrementAndGet();
+
+        if (testConnection())
+        {
             setupUpdatesListener();
 
-            if (testConnection())
+            if (!setState(TelegramState.CONNECTING, TelegramState.CONNECTED))
             {
-                isRunning.set(true);
-                LoggerUtils.debug("Telegram сервис инициализирован");
-                return true;
+                TelegramBot currentBot = bot;
+                if (currentBot != null) currentBot.removeGetUpdatesListener();
+                return;
             }
-            else
+
+            LoggerUtils.debug("Подключение к Telegram API установлено (попытка " + attempt + ")");
+            flushQueuedMessages();
+            return;
+        }
+
+        if (state.get() != TelegramState.CONNECTING) return;
+
+        long delay = getBackoffDelay(attempt);
+        LoggerUtils.warning("Не удалось подключиться к Telegram API (попытка " + attempt + "), повтор через " + delay + " мс");
+        scheduleConnect(delay);
+    }
+
+    private long getBackoffDelay(int attempt)
+    {
+        long delay = initialBackoffMillis << Math.min(Math.max(0, attempt - 1), 20);
+        return Math.min(maxBackoffMillis, delay);
+    }
+
+    public void setReconnectBackoff(long initialMillis, long maxMillis)
+    {
+        this.initialBackoffMillis = Math.max(1, initialMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxMillis);
+    }
+
+    public void setMaxQueuedMessages(int maxQueuedMessages)
+    {
+        this.maxQueuedMessages = Math.max(0, maxQueuedMessages);
+    }
+
+    private boolean setState(TelegramState expected, TelegramState next)
+    {
+        if (!state.compareAndSet(expected, next)) return false;
+
+        notifyStateListeners(expected, next);
+        return true;
+    }
+
+    private void notifyStateListeners(TelegramState previous, TelegramState current)
+    {
+        LoggerUtils.debug("Состояние Telegram сервиса: " + previous + " -> " + current);
+
+        for (TelegramStateListener listener : stateListeners)
+        {
+            try
             {
-                LoggerUtils.error("Не удалось подключиться к Telegram API");
-                return false;
+                listener.onStateChange(previous, current);
+            }
+            catch (Exception exception)
+            {
+                LoggerUtils.error("Ошибка обработчика состояния Telegram", exception);
             }
         }
-        catch (Exception exception)
+    }
+
+    public void addStateListener(TelegramStateListener listener)
+    {
+        stateListeners.add(listener);
+
+        String owner = ModuleResourceRegistry.getCurrentOwner();
+        if (owner != null)
         {
-            LoggerUtils.error("Ошибка инициализации Telegram сервиса", exception);
-            return false;
+            stateListenerOwners.put(listener, owner);
+            ModuleResourceRegistry.trackOwned(owner, "telegram-state-listener", listener.getClass().getName(), listener, () -> removeStateListener(listener));
         }
     }
 
+    public void removeStateListener(TelegramStateListener listener)
+    {
+        stateListeners.remove(listener);
+        ModuleResourceRegistry.untrackOwned(stateListenerOwners.remove(listener), listener);
+    }
+
+    public TelegramState getState()
+    {
+        return state.get();
+    }
+
+    public int getConnectAttempts()
+    {
+        return connectAttempts.get();
+    }
+
+    public int getQueuedMessageCount()
+    {
+        return queuedMessages.size();
+    }
+
     private void setupUpdatesListener()
     {
-        bot.setUpdatesListener(updates -> 
+        TelegramBot currentBot = bot;
+
+        if (currentBot == null) return;
+
+        currentBot.setUpdatesListener(updates -> 
         {
             if (isShuttingDown.get())
             {
@@ -117,7 +287,7 @@ public class TelegramService
                 TelegramEventHandler handler = eventHandlers.get("message");
                 if (handler != null)
                 {
-                    handler.handle(update);
+                    dispatch(handler, update);
                 }
             }
 
@@ -126,7 +296,7 @@ public class TelegramService
                 TelegramEventHandler handler = eventHandlers.get("callback");
                 if (handler != null)
                 {
-                    handler.handle(update);
+                    dispatch(handler, update);
                 }
             }
         }
@@ -137,10 +307,14 @@ public class TelegramService
     }
     private boolean testConnection()
     {
+        TelegramBot currentBot = bot;
+
+        if (currentBot == null) return false;
+
         try
         {
-            var getMe = bot.execute(new com.pengrad.telegrambot.request.GetMe());
-            return getMe.isOk();
+            var getMe = currentBot.execute(new com.pengrad.telegrambot.request.GetMe());
+            return getMe != null && getMe.isOk();
         }
         catch (Exception exception)
         {
@@ -178,13 +352,91 @@ public class TelegramService
 
     private CompletableFuture<Integer> sendMessage(long chatId, String message, InlineKeyboardMarkup keyboard, Integer threadId)
     {
-        if (!isRunning.get())
+        TelegramState currentState = state.get();
+
+        if (currentState == TelegramState.CONNECTING)
+        {
+            return enqueue(new QueuedMessage(chatId, message, keyboard, threadId));
+        }
+
+        if (currentState != TelegramState.CONNECTED)
         {
             LoggerUtils.warning("Telegram сервис не запущен");
             return CompletableFuture.completedFuture(null);
         }
-        
-        return CompletableFuture.supplyAsync(() -> 
+
+        return dispatchMessage(chatId, message, keyboard, threadId);
+    }
+
+    private CompletableFuture<Integer> enqueue(QueuedMessage queued)
+    {
+        if (maxQueuedMessages == 0)
+        {
+            LoggerUtils.warning("Telegram API еще не подключен, сообщение отброшено");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        while (queuedMessages.size() >= maxQueuedMessages)
+        {
+            QueuedMessage oldest = queuedMessages.poll();
+
+            if (oldest == null) break;
+
+            oldest.result.complete(null);
+            LoggerUtils.warning("Очередь Telegram сообщений переполнена (" + maxQueuedMessages + "), старое сообщение отброшено");
+        }
+
+        queuedMessages.add(queued);
+
+        if (state.get() == TelegramState.CONNECTED)
+        {
+            flushQueuedMessages();
+        }
+        else if (state.get() == TelegramState.STOPPED && queuedMessages.remove(queued))
+        {
+            queued.result.complete(null);
+        }
+
+        return queued.result;
+    }
+
+    private void flushQueuedMessages()
+    {
+        int flushed = 0;
+        QueuedMessage queued;
+
+        while ((queued = queuedMessages.poll()) != null)
+        {
+            CompletableFuture<Integer> result = queued.result;
+
+            dispatchMessage(queued.chatId, queued.message, queued.keyboard, queued.threadId)
+                    .whenComplete((messageId, throwable) -> result.complete(throwable == null ? messageId : null));
+            flushed++;
+        }
+
+        if (flushed > 0)
+        {
+            LoggerUtils.debug("Отправлено отложенных Telegram сообщений: " + flushed);
+        }
+    }
+
+    private int dropQueuedMessages()
+    {
+        int dropped = 0;
+        QueuedMessage queued;
+
+        while ((queued = queuedMessages.poll()) != null)
+        {
+            queued.result.complete(null);
+            dropped++;
+        }
+
+        return dropped;
+    }
+
+    private CompletableFuture<Integer> dispatchMessage(long chatId, String message, InlineKeyboardMarkup keyboard, Integer threadId)
+    {
+        return track(CompletableFuture.supplyAsync(() -> 
         {
             try
             {
@@ -232,7 +484,7 @@ public class TelegramService
                 LoggerUtils.error("Исключение при отправке Telegram сообщения", exception);
                 return null;
             }
-        });
+        }));
     }
 
     public CompletableFuture<Boolean> editMessage(long chatId, int messageId, String newMessage)
@@ -242,13 +494,13 @@ public class TelegramService
 
     public CompletableFuture<Boolean> editMessage(long chatId, int messageId, String newMessage, InlineKeyboardMarkup keyboard)
     {
-        if (!isRunning.get())
+        if (state.get() != TelegramState.CONNECTED)
         {
-            LoggerUtils.warning("Telegram сервис не запущен");
+            LoggerUtils.warning("Telegram сервис не подключен");
             return CompletableFuture.completedFuture(false);
         }
         
-        return CompletableFuture.supplyAsync(() -> 
+        return track(CompletableFuture.supplyAsync(() -> 
         {
             try
             {
@@ -288,21 +540,72 @@ public class TelegramService
                 LoggerUtils.error("Исключение при редактировании Telegram сообщения", exception);
                 return false;
             }
-        });
+        }));
+    }
+
+    private <T> CompletableFuture<T> track(CompletableFuture<T> request)
+    {
+        pendingRequests.add(request);
+        request.whenComplete((result, throwable) -> pendingRequests.remove(request));
+        return request;
+    }
+
+    public int getPendingRequestCount()
+    {
+        return pendingRequests.size();
     }
 
     public void registerEventHandler(String eventType, TelegramEventHandler handler)
     {
-        eventHandlers.put(eventType, handler);
+        untrackHandler(eventHandlers.put(eventType, handler));
+
+        String owner = ModuleResourceRegistry.getCurrentOwner();
+        if (owner != null)
+        {
+            handlerOwners.put(handler, owner);
+            ModuleResourceRegistry.trackOwned(owner, "telegram-handler", eventType, handler, () -> unregisterEventHandler(eventType, handler));
+        }
+
         LoggerUtils.debug("Зарегистрирован обработчик Telegram событий: " + eventType);
     }
 
     public void unregisterEventHandler(String eventType)
     {
-        eventHandlers.remove(eventType);
+        untrackHandler(eventHandlers.remove(eventType));
         LoggerUtils.debug("Удален обработчик Telegram событий: " + eventType);
     }
 
+    public boolean unregisterEventHandler(String eventType, TelegramEventHandler handler)
+    {
+        if (!eventHandlers.remove(eventType, handler)) return false;
+
+        untrackHandler(handler);
+        LoggerUtils.debug("Удален обработчик Telegram событий: " + eventType);
+        return true;
+    }
+
+    private void dispatch(TelegramEventHandler handler, Update update) throws Exception
+    {
+        String previousContext = ModuleResourceRegistry.enter(handlerOwners.get(handler));
+
+        try
+        {
+            handler.handle(update);
+        }
+        finally
+        {
+            ModuleResourceRegistry.exit(previousContext);
+        }
+    }
+
+    private void untrackHandler(TelegramEventHandler handler)
+    {
+        if (handler == null) return;
+
+        String owner = handlerOwners.remove(handler);
+        ModuleResourceRegistry.untrackOwned(owner, handler);
+    }
+
     private String replacePlaceholders(String message, Object... replacements)
     {
         if (message == null || replacements == null || replacements.length == 0)
@@ -330,7 +633,7 @@ public class TelegramService
 
     public boolean isRunning()
     {
-        return isRunning.get();
+        return state.get() == TelegramState.CONNECTED;
     }
 
     public TelegramBot getBot()
@@ -340,28 +643,58 @@ public class TelegramService
 
     public void shutdown()
     {
-        if (!isRunning.get())
+        shutdown(5000);
+    }
+
+    public int shutdown(long timeoutMillis)
+    {
+        TelegramState previous = state.getAndSet(TelegramState.STOPPED);
+
+        if (previous == TelegramState.STOPPED)
         {
             LoggerUtils.warning("Telegram сервис не запущен");
-            return;
+            return 0;
         }
+
+        notifyStateListeners(previous, TelegramState.STOPPED);
         
         LoggerUtils.debug("Остановка Telegram сервиса...");
+
+        int dropped = 0;
         
         try
         {
             isShuttingDown.set(true);
 
+            if (connectExecutor != null)
+            {
+                connectExecutor.shutdownNow();
+                connectExecutor = null;
+            }
+
             if (bot != null)
             {
-                bot.setUpdatesListener(null);
+                bot.removeGetUpdatesListener();
+            }
 
-                Thread.sleep(100);
+            int unsent = dropQueuedMessages();
+
+            if (unsent > 0)
+            {
+                LoggerUtils.warning("Telegram API так и не подключился, отброшено сообщений из очереди: " + unsent);
             }
 
+            int unfinished = drainPendingRequests(timeoutMillis);
+
+            if (unfinished > 0)
+            {
+                LoggerUtils.warning("Не дождались отправки Telegram запросов: " + unfinished);
+            }
+
+            dropped = unsent + unfinished;
+
             eventHandlers.clear();
             
-            isRunning.set(false);
             isShuttingDown.set(false);
             
             LoggerUtils.debug("Telegram сервис остановлен");
@@ -372,7 +705,72 @@ public class TelegramService
         }
         finally
         {
+            if (bot != null)
+            {
+                bot.shutdown();
+            }
+
             bot = null;
         }
+
+        return dropped;
+    }
+
+    private int drainPendingRequests(long timeoutMillis)
+    {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+
+        while (!pendingRequests.isEmpty())
+        {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) break;
+
+            try
+            {
+                CompletableFuture.allOf(pendingRequests.toArray(new CompletableFuture<?>[0]))
+                        .get(remaining, TimeUnit.NANOSECONDS);
+            }
+            catch (TimeoutException exception)
+            {
+                break;
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            catch (ExecutionException ignored)
+            {
+            }
+        }
+
+        int dropped = 0;
+
+        for (CompletableFuture<?> request : pendingRequests)
+        {
+            if (request.cancel(true)) dropped++;
+        }
+
+        pendingRequests.clear();
+        return dropped;
+    }
+
+    private static final class QueuedMessage
+    {
+        private final long chatId;
+        private final String message;
+        private final InlineKeyboardMarkup keyboard;
+        private final Integer threadId;
+        private final CompletableFuture<Integer> result;
+
+        private QueuedMessage(long chatId, String message, InlineKeyboardMarkup keyboard, Integer threadId)
+        {
+            this.chatId = chatId;
+            this.message = message;
+            this.keyboard = keyboard;
+            this.threadId = threadId;
+            this.result = new CompletableFuture<>();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package me.darkakyloff.core.api.telegram;
+
+
+public enum TelegramState
+{
+    STOPPED("Остановлен"),
+
+    CONNECTING("Подключается"),
+
+    CONNECTED("Подключен");
+
+    private final String displayName;
+
+    TelegramState(String displayName)
+    {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName()
+    {
+        return displayName;
+    }
+
+    public boolean isAcceptingMessages()
+    {
+        return this == CONNECTING || this == CONNECTED;
+    }
+
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
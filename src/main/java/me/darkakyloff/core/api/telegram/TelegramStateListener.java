@@ -0,0 +1,7 @@
+package me.darkakyloff.core.api.telegram;
+
+@FunctionalInterface
+public interface TelegramStateListener
+{
+    void onStateChange(TelegramState previous, TelegramState current);
+}
@@ -4,6 +4,7 @@ import me.darkakyloff.core.api.http.HttpEndpoint;
 import me.darkakyloff.core.api.http.HttpRequestHandler;
 import me.darkakyloff.core.api.http.HttpResponse;
 import me.darkakyloff.core.modules.BaseModule;
+import me.darkakyloff.core.modules.ModuleResourceRegistry;
 import me.darkakyloff.core.utils.LoggerUtils;
 import com.sun.net.httpserver.HttpContext;
 import com.sun.net.httpserver.HttpExchange;
@@ -14,14 +15,19 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class HttpServerManager
 {
     private final int port;
     private HttpServer server;
     private final Map<String, HttpContext> contexts;
+    private final Map<String, HttpRequestHandler> handlers;
     private final Map<BaseModule, Map<String, HttpContext>> moduleContexts;
+    private final AtomicInteger activeExchanges;
+    private ExecutorService executor;
 
     private boolean isRunning = false;
     private boolean debugMode = false;
@@ -30,7 +36,9 @@ public class HttpServerManager
     {
         this.port = port;
         this.contexts = new ConcurrentHashMap<>();
+        this.handlers = new ConcurrentHashMap<>();
         this.moduleContexts = new ConcurrentHashMap<>();
+        this.activeExchanges = new AtomicInteger();
         
         LoggerUtils.debug("HttpServerManager создан для порта " + port);
     }
@@ -49,12 +57,13 @@ public class HttpServerManager
 
             server = HttpServer.create(new InetSocketAddress(port), 0);
 
-            server.setExecutor(Executors.newCachedThreadPool(runnable -> 
+            executor = Executors.newCachedThreadPool(runnable -> 
             {
                 Thread thread = new Thread(runnable, "HTTP-Worker");
                 thread.setDaemon(true);
                 return thread;
-            }));
+            });
+            server.setExecutor(executor);
 
             server.start();
             isRunning = true;
@@ -70,21 +79,43 @@ public class HttpServerManager
     }
 
     public void stopServer()
+    {
+        stopServer(2000);
+    }
+
+    public int stopServer(long timeoutMillis)
     {
         if (!isRunning)
         {
             LoggerUtils.warning("HTTP сервер не запущен");
-            return;
+            return 0;
         }
+
+        int dropped = 0;
         
         try
         {
             LoggerUtils.debug("Остановка HTTP сервера...");
-            
-            server.stop(2);
+
+            int delaySeconds = activeExchanges.get() > 0 ? (int) Math.max(1, (timeoutMillis + 999) / 1000) : 0;
+            server.stop(delaySeconds);
             isRunning = false;
 
+            dropped = activeExchanges.get();
+
+            if (executor != null)
+            {
+                executor.shutdownNow();
+                executor = null;
+            }
+
+            if (dropped > 0)
+            {
+                LoggerUtils.warning("HTTP сервер остановлен с незавершенными запросами: " + dropped);
+            }
+
             contexts.clear();
+            handlers.clear();
             moduleContexts.clear();
             
             LoggerUtils.debug("HTTP сервер остановлен");
@@ -93,6 +124,8 @@ public class HttpServerManager
         {
             LoggerUtils.error("Ошибка остановки HTTP сервера", exception);
         }
+
+        return dropped;
     }
 
     private void registerDefaultEndpoints()
@@ -127,12 +160,30 @@ public class HttpServerManager
                 server.removeContext(contexts.get(path));
             }
             
-            HttpContext context = server.createContext(path, exchange -> handleRequest(exchange, handler, path));
+            HttpContext context = server.createContext(path, exchange ->
+            {
+                if (module != null) module.markActive();
+
+                activeExchanges.incrementAndGet();
+                String previousContext = ModuleResourceRegistry.enter(module != null ? module.getName() : null);
+
+                try
+                {
+                    handleRequest(exchange, handler, path);
+                }
+                finally
+                {
+                    ModuleResourceRegistry.exit(previousContext);
+                    activeExchanges.decrementAndGet();
+                }
+            });
             contexts.put(path, context);
+            handlers.put(path, handler);
 
             if (module != null)
             {
                 moduleContexts.computeIfAbsent(module, k -> new ConcurrentHashMap<>()).put(path, context);
+                module.getResources().track("endpoint", path, context, () -> unregisterEndpoint(path));
             }
             
             LoggerUtils.debug("Эндпоинт зарегистрирован: " + path + 
@@ -164,10 +215,11 @@ public class HttpServerManager
             HttpContext context = contexts.get(path);
             server.removeContext(context);
             contexts.remove(path);
+            handlers.remove(path);
 
-            for (Map<String, HttpContext> moduleMap : moduleContexts.values())
+            for (Map.Entry<BaseModule, Map<String, HttpContext>> entry : moduleContexts.entrySet())
             {
-                moduleMap.remove(path);
+                entry.getKey().getResources().untrack(entry.getValue().remove(path));
             }
             
             LoggerUtils.debug("Эндпоинт выгружен: " + path);
@@ -295,6 +347,17 @@ public class HttpServerManager
         return contexts.size();
     }
 
+    public int getEndpointCount(BaseModule module)
+    {
+        Map<String, HttpContext> moduleMap = moduleContexts.get(module);
+        return moduleMap != null ? moduleMap.size() : 0;
+    }
+
+    public HttpRequestHandler getHandler(String path)
+    {
+        return handlers.get(path);
+    }
+
     public java.util.Set<String> getRegisteredPaths()
     {
         return contexts.keySet();
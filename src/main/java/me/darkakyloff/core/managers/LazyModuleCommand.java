@@ -0,0 +1,63 @@
+package me.darkakyloff.core.managers;
+
+import me.darkakyloff.core.CorePlugin;
+import me.darkakyloff.core.api.command.CommandManager;
+import me.darkakyloff.core.api.message.MessageKeys;
+import me.darkakyloff.core.api.message.MessageManager;
+import me.darkakyloff.core.utils.LoggerUtils;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.defaults.BukkitCommand;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public class LazyModuleCommand extends BukkitCommand
+{
+    private final ModuleManager moduleManager;
+    private final String moduleName;
+
+    public LazyModuleCommand(ModuleManager moduleManager, String moduleName, String name)
+    {
+        super(name);
+        this.moduleManager = moduleManager;
+        this.moduleName = moduleName;
+    }
+
+    @Override
+    public boolean execute(@NotNull CommandSender sender, @NotNull String commandLabel, @NotNull String[] args)
+    {
+        Command command = null;
+
+        if (moduleManager.activateModule(moduleName, "команда /" + getName()))
+        {
+            command = CommandManager.getCommand(getName());
+        }
+
+        if (command == null || command == this)
+        {
+            LoggerUtils.warning("Модуль " + moduleName + " не предоставил команду /" + getName() + " после активации");
+
+            MessageManager messageManager = CorePlugin.getInstance().getMessageManager();
+            if (messageManager != null)
+            {
+                messageManager.sendMessage(sender, MessageKeys.ERROR_UNKNOWN.getKey());
+            }
+
+            return false;
+        }
+
+        return command.execute(sender, commandLabel, args);
+    }
+
+    @Override
+    public @NotNull List<String> tabComplete(@NotNull CommandSender sender, @NotNull String alias, @NotNull String[] args)
+    {
+        return List.of();
+    }
+
+    public String getModuleName()
+    {
+        return moduleName;
+    }
+}
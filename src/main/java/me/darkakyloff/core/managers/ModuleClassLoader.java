@@ -0,0 +1,110 @@
+package me.darkakyloff.core.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+public class ModuleClassLoader extends URLClassLoader
+{
+    static
+    {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private final String moduleName;
+    private final File sourceJar;
+    private final File loadedJar;
+    private final List<ModuleClassLoader> dependencyLoaders;
+
+    public ModuleClassLoader(String moduleName, File sourceJar, File loadedJar, ClassLoader parent) throws MalformedURLException
+    {
+        this(moduleName, sourceJar, loadedJar, parent, List.of());
+    }
+
+    public ModuleClassLoader(String moduleName, File sourceJar, File loadedJar, ClassLoader parent,
+                             List<ModuleClassLoader> dependencyLoaders) throws MalformedURLException
+    {
+        super(new URL[]{loadedJar.toURI().toURL()}, parent);
+        this.moduleName = moduleName;
+        this.sourceJar = sourceJar;
+        this.loadedJar = loadedJar;
+        this.dependencyLoaders = List.copyOf(dependencyLoaders);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+    {
+        try
+        {
+            return super.loadClass(name, resolve);
+        }
+        catch (ClassNotFoundException exception)
+        {
+            for (ModuleClassLoader dependencyLoader : dependencyLoaders)
+            {
+                Class<?> found = dependencyLoader.findOwnClass(name);
+
+                if (found != null)
+                {
+                    if (resolve) resolveClass(found);
+                    return found;
+                }
+            }
+
+            throw exception;
+        }
+    }
+
+    private Class<?> findOwnClass(String name)
+    {
+        synchronized (getClassLoadingLock(name))
+        {
+            Class<?> loaded = findLoadedClass(name);
+
+            if (loaded != null) return loaded;
+
+            try
+            {
+                return findClass(name);
+            }
+            catch (ClassNotFoundException exception)
+            {
+                return null;
+            }
+        }
+    }
+
+    public String getModuleName()
+    {
+        return moduleName;
+    }
+
+    public File getSourceJar()
+    {
+        return sourceJar;
+    }
+
+    public List<ModuleClassLoader> getDependencyLoaders()
+    {
+        return dependencyLoaders;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            super.close();
+        }
+        finally
+        {
+            if (!loadedJar.equals(sourceJar))
+            {
+                loadedJar.delete();
+            }
+        }
+    }
+}
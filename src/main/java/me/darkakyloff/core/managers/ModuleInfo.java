@@ -1,15 +1,21 @@
 package me.darkakyloff.core.managers;
 
 import me.darkakyloff.core.modules.BaseModule;
+import me.darkakyloff.core.utils.JsonUtils;
 
 import java.util.Set;
 
 public class ModuleInfo
 {
     private final BaseModule module;
-    private ModuleState state;
+    private volatile ModuleState state;
     private long loadTime;
     private long registerTime;
+    private long asyncLoadNanos;
+    private long loadDurationNanos;
+    private long unloadDurationNanos;
+    private long asyncAllocatedBytes;
+    private long loadAllocatedBytes;
     private String lastError;
 
     public ModuleInfo(BaseModule module)
@@ -77,6 +83,77 @@ public class ModuleInfo
         this.loadTime = loadTime;
     }
 
+    public long getAsyncLoadNanos()
+    {
+        return asyncLoadNanos;
+    }
+
+    public void setAsyncLoadNanos(long asyncLoadNanos)
+    {
+        this.asyncLoadNanos = asyncLoadNanos;
+    }
+
+    public long getLoadDurationNanos()
+    {
+        return loadDurationNanos;
+    }
+
+    public void setLoadDurationNanos(long loadDurationNanos)
+    {
+        this.loadDurationNanos = loadDurationNanos;
+    }
+
+    public double getLoadDurationMillis()
+    {
+        return loadDurationNanos / 1_000_000.0;
+    }
+
+    public long getUnloadDurationNanos()
+    {
+        return unloadDurationNanos;
+    }
+
+    public void setUnloadDurationNanos(long unloadDurationNanos)
+    {
+        this.unloadDurationNanos = unloadDurationNanos;
+    }
+
+    public long getAsyncAllocatedBytes()
+    {
+        return asyncAllocatedBytes;
+    }
+
+    public void setAsyncAllocatedBytes(long asyncAllocatedBytes)
+    {
+        this.asyncAllocatedBytes = asyncAllocatedBytes;
+    }
+
+    public long getLoadAllocatedBytes()
+    {
+        return loadAllocatedBytes;
+    }
+
+    public void setLoadAllocatedBytes(long loadAllocatedBytes)
+    {
+        this.loadAllocatedBytes = loadAllocatedBytes;
+    }
+
+    public String toJson(ModuleResources resources, boolean lazy, boolean external)
+    {
+        return "{\"name\":" + JsonUtils.quote(getName()) +
+                ",\"version\":" + JsonUtils.quote(getVersion()) +
+                ",\"state\":" + JsonUtils.quote(state.name()) +
+                ",\"lazy\":" + lazy +
+                ",\"external\":" + external +
+                ",\"loadMillis\":" + JsonUtils.millis(loadDurationNanos) +
+                ",\"asyncLoadMillis\":" + JsonUtils.millis(asyncLoadNanos) +
+                ",\"unloadMillis\":" + JsonUtils.millis(unloadDurationNanos) +
+                ",\"loadAllocatedBytes\":" + loadAllocatedBytes +
+                ",\"uptimeMillis\":" + getUptime() +
+                ",\"resources\":" + resources.toJson() +
+                ",\"lastError\":" + JsonUtils.quote(lastError) + "}";
+    }
+
     public String getLastError()
     {
         return lastError;
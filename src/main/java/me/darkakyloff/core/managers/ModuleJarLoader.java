@@ -0,0 +1,402 @@
+package me.darkakyloff.core.managers;
+
+import me.darkakyloff.core.modules.BaseModule;
+import me.darkakyloff.core.utils.LoggerUtils;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+public class ModuleJarLoader
+{
+    private static final String DESCRIPTOR = "module.yml";
+
+    private final Plugin plugin;
+    private final File modulesFolder;
+    private final File loadedFolder;
+    private final Map<String, ModuleJar> jarIndex;
+    private final Map<String, ModuleJar> loadedJars;
+    private final Map<String, ModuleClassLoader> classLoaders;
+
+    public ModuleJarLoader(Plugin plugin, File modulesFolder)
+    {
+        this.plugin = plugin;
+        this.modulesFolder = modulesFolder;
+        this.loadedFolder = new File(modulesFolder, ".loaded");
+        this.jarIndex = new ConcurrentHashMap<>();
+        this.loadedJars = new ConcurrentHashMap<>();
+        this.classLoaders = new ConcurrentHashMap<>();
+
+        clearLoadedCopies();
+    }
+
+    public List<ModuleJar> scan()
+    {
+        List<ModuleJar> result = new ArrayList<>();
+
+        if (!modulesFolder.exists() && !modulesFolder.mkdirs())
+        {
+            LoggerUtils.warning("Не удалось создать папку модулей: " + modulesFolder.getPath());
+            return result;
+        }
+
+        File[] jarFiles = modulesFolder.listFiles((directory, name) -> name.endsWith(".jar"));
+
+        if (jarFiles == null) return result;
+
+        Set<String> present = new HashSet<>();
+        int descriptorsRead = 0;
+
+        for (File jarFile : jarFiles)
+        {
+            String key = jarFile.getAbsolutePath();
+            present.add(key);
+
+            ModuleJar cached = jarIndex.get(key);
+
+            if (cached != null && cached.matches(jarFile))
+            {
+                result.add(cached);
+                continue;
+            }
+
+            ModuleJar moduleJar = readDescriptor(jarFile);
+            descriptorsRead++;
+
+            if (moduleJar != null)
+            {
+                jarIndex.put(key, moduleJar);
+                result.add(moduleJar);
+            }
+            else
+            {
+                jarIndex.remove(key);
+            }
+        }
+
+        jarIndex.keySet().retainAll(present);
+
+        LoggerUtils.debug("Просканировано jar модулей: " + jarFiles.length + ", прочитано дескрипторов: " + descriptorsRead);
+        return result;
+    }
+
+    public ModuleJar findJar(String moduleName)
+    {
+        for (ModuleJar moduleJar : scan())
+        {
+            if (moduleJar.getModuleName().equals(moduleName)) return moduleJar;
+        }
+
+        return null;
+    }
+
+    public BaseModule load(ModuleJar moduleJar)
+    {
+        String moduleName = moduleJar.getModuleName();
+
+        if (classLoaders.containsKey(moduleName))
+        {
+            LoggerUtils.warning("Модуль " + moduleName + " уже загружен из " + classLoaders.get(moduleName).getSourceJar().getName());
+            return null;
+        }
+
+        ModuleClassLoader classLoader = null;
+
+        try
+        {
+            if (!loadedFolder.exists()) loadedFolder.mkdirs();
+
+            File loadedCopy = new File(loadedFolder, moduleName + "-" + moduleJar.getLastModified() + ".jar");
+            Files.copy(moduleJar.getFile().toPath(), loadedCopy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            List<ModuleClassLoader> dependencyLoaders = new ArrayList<>();
+
+            for (String dependency : moduleJar.getDependencies())
+            {
+                ModuleClassLoader dependencyLoader = classLoaders.get(dependency);
+
+                if (dependencyLoader != null)
+                {
+                    dependencyLoaders.add(dependencyLoader);
+                }
+                else if (isJarModule(dependency))
+                {
+                    LoggerUtils.error("Модуль " + moduleName + " зависит от jar модуля " + dependency + ", который не загружен");
+                    Files.deleteIfExists(loadedCopy.toPath());
+                    return null;
+                }
+            }
+
+            classLoader = new ModuleClassLoader(moduleName, moduleJar.getFile(), loadedCopy,
+                    plugin.getClass().getClassLoader(), dependencyLoaders);
+
+            Class<?> mainClass = Class.forName(moduleJar.getMainClass(), true, classLoader);
+
+            if (!BaseModule.class.isAssignableFrom(mainClass))
+            {
+                LoggerUtils.error("Класс " + moduleJar.getMainClass() + " не наследует BaseModule (" + moduleJar.getFile().getName() + ")");
+                closeQuietly(classLoader);
+                return null;
+            }
+
+            BaseModule module = mainClass.asSubclass(BaseModule.class)
+                    .getConstructor(Plugin.class, String.class)
+                    .newInstance(plugin, moduleName);
+
+            module.declareDependencies(moduleJar.getDependencies());
+
+            classLoaders.put(moduleName, classLoader);
+            loadedJars.put(moduleName, moduleJar);
+
+            LoggerUtils.debug("Модуль " + moduleName + " загружен из " + moduleJar.getFile().getName());
+            return module;
+        }
+        catch (IOException | ReflectiveOperationException | LinkageError exception)
+        {
+            LoggerUtils.error("Ошибка загрузки модуля из " + moduleJar.getFile().getName(), exception);
+            closeQuietly(classLoader);
+            return null;
+        }
+    }
+
+    public void close(String moduleName)
+    {
+        ModuleClassLoader classLoader = classLoaders.remove(moduleName);
+        loadedJars.remove(moduleName);
+
+        if (classLoader != null)
+        {
+            closeQuietly(classLoader);
+            LoggerUtils.debug("Загрузчик классов модуля закрыт: " + moduleName);
+        }
+    }
+
+    public void closeAll()
+    {
+        for (String moduleName : List.copyOf(classLoaders.keySet()))
+        {
+            close(moduleName);
+        }
+    }
+
+    public boolean isExternal(String moduleName)
+    {
+        return classLoaders.containsKey(moduleName);
+    }
+
+    public List<String> getDependents(String moduleName)
+    {
+        List<String> dependents = new ArrayList<>();
+
+        for (Map.Entry<String, ModuleJar> entry : loadedJars.entrySet())
+        {
+            if (entry.getValue().getDependencies().contains(moduleName))
+            {
+                dependents.add(entry.getKey());
+            }
+        }
+
+        return dependents;
+    }
+
+    public List<ModuleJar> sortByDependencies(List<ModuleJar> moduleJars)
+    {
+        Map<String, ModuleJar> byName = new LinkedHashMap<>();
+
+        for (ModuleJar moduleJar : moduleJars)
+        {
+            byName.putIfAbsent(moduleJar.getModuleName(), moduleJar);
+        }
+
+        List<ModuleJar> sorted = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Set<String> visiting = new HashSet<>();
+
+        for (String moduleName : byName.keySet())
+        {
+            visitJar(moduleName, byName, visited, visiting, sorted);
+        }
+
+        return sorted;
+    }
+
+    private void visitJar(String moduleName, Map<String, ModuleJar> byName, Set<String> visited, Set<String> visiting, List<ModuleJar> sorted)
+    {
+        ModuleJar moduleJar = byName.get(moduleName);
+
+        if (moduleJar == null || visited.contains(moduleName)) return;
+
+        if (!visiting.add(moduleName))
+        {
+            LoggerUtils.warning("Циклическая зависимость jar модулей: " + moduleName);
+            return;
+        }
+
+        for (String dependency : moduleJar.getDependencies())
+        {
+            visitJar(dependency, byName, visited, visiting, sorted);
+        }
+
+        visiting.remove(moduleName);
+        visited.add(moduleName);
+        sorted.add(moduleJar);
+    }
+
+    private boolean isJarModule(String moduleName)
+    {
+        for (ModuleJar moduleJar : jarIndex.values())
+        {
+            if (moduleJar.getModuleName().equals(moduleName)) return true;
+        }
+
+        return false;
+    }
+
+    public boolean isOutdated(String moduleName, ModuleJar current)
+    {
+        ModuleJar loaded = loadedJars.get(moduleName);
+        return loaded != null && loaded != current;
+    }
+
+    public Set<String> getExternalModuleNames()
+    {
+        return new HashSet<>(classLoaders.keySet());
+    }
+
+    public File getModulesFolder()
+    {
+        return modulesFolder;
+    }
+
+    private ModuleJar readDescriptor(File jarFile)
+    {
+        try (JarFile jar = new JarFile(jarFile))
+        {
+            JarEntry entry = jar.getJarEntry(DESCRIPTOR);
+
+            if (entry == null)
+            {
+                LoggerUtils.warning("В " + jarFile.getName() + " отсутствует " + DESCRIPTOR + ", файл пропущен");
+                return null;
+            }
+
+            try (Reader reader = new InputStreamReader(jar.getInputStream(entry), StandardCharsets.UTF_8))
+            {
+                YamlConfiguration descriptor = YamlConfiguration.loadConfiguration(reader);
+
+                String name = descriptor.getString("name");
+                String mainClass = descriptor.getString("main");
+
+                if (name == null || name.isEmpty() || mainClass == null || mainClass.isEmpty())
+                {
+                    LoggerUtils.warning("В " + DESCRIPTOR + " файла " + jarFile.getName() + " не указаны name и main");
+                    return null;
+                }
+
+                return new ModuleJar(jarFile, jarFile.lastModified(), jarFile.length(), name, mainClass,
+                        List.copyOf(descriptor.getStringList("depend")));
+            }
+        }
+        catch (IOException exception)
+        {
+            LoggerUtils.error("Ошибка чтения jar модуля: " + jarFile.getName(), exception);
+            return null;
+        }
+    }
+
+    private void clearLoadedCopies()
+    {
+        File[] copies = loadedFolder.listFiles();
+
+        if (copies == null) return;
+
+        for (File copy : copies)
+        {
+            copy.delete();
+        }
+    }
+
+    private void closeQuietly(ModuleClassLoader classLoader)
+    {
+        if (classLoader == null) return;
+
+        try
+        {
+            classLoader.close();
+        }
+        catch (IOException exception)
+        {
+            LoggerUtils.warning("Ошибка закрытия загрузчика классов модуля " + classLoader.getModuleName() + ": " + exception.getMessage());
+        }
+    }
+
+    public static final class ModuleJar
+    {
+        private final File file;
+        private final long lastModified;
+        private final long size;
+        private final String moduleName;
+        private final String mainClass;
+        private final List<String> dependencies;
+
+        private ModuleJar(File file, long lastModified, long size, String moduleName, String mainClass, List<String> dependencies)
+        {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.moduleName = moduleName;
+            this.mainClass = mainClass;
+            this.dependencies = dependencies;
+        }
+
+        private boolean matches(File jarFile)
+        {
+            return jarFile.lastModified() == lastModified && jarFile.length() == size;
+        }
+
+        public File getFile()
+        {
+            return file;
+        }
+
+        public long getLastModified()
+        {
+            return lastModified;
+        }
+
+        public long getSize()
+        {
+            return size;
+        }
+
+        public String getModuleName()
+        {
+            return moduleName;
+        }
+
+        public String getMainClass()
+        {
+            return mainClass;
+        }
+
+        public List<String> getDependencies()
+        {
+            return dependencies;
+        }
+    }
+}
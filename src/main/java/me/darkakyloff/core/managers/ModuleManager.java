@@ -1,22 +1,56 @@
 package me.darkakyloff.core.managers;
 
+import me.darkakyloff.core.CorePlugin;
+import me.darkakyloff.core.api.command.CommandManager;
+import me.darkakyloff.core.api.config.ConfigurationManager;
+import me.darkakyloff.core.api.database.DatabaseManager;
+import me.darkakyloff.core.api.http.HttpRequestHandler;
+import me.darkakyloff.core.api.http.HttpResponse;
+import me.darkakyloff.core.api.placeholder.PlaceholderHandler;
 import me.darkakyloff.core.modules.BaseModule;
+import me.darkakyloff.core.modules.ModuleResourceRegistry;
 import me.darkakyloff.core.modules.core.CoreModule;
 import me.darkakyloff.core.modules.economy.EconomyModule;
+import me.darkakyloff.core.tasks.AsyncTaskScheduler;
+import me.darkakyloff.core.tasks.StartupTracer;
+import me.darkakyloff.core.tasks.TaskHandle;
+import me.darkakyloff.core.tasks.TickProfiler;
+import me.darkakyloff.core.utils.JsonUtils;
 import me.darkakyloff.core.utils.LoggerUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 public class ModuleManager
 {
+    private static final long LEAK_CHECK_DELAY_SECONDS = 60;
+    private static final int LEAK_CHECK_MAX_ATTEMPTS = 10;
+    private static final List<String> YOUNG_COLLECTOR_MARKERS = List.of("Young", "Scavenge", "Copy", "ParNew", "Minor", "Pauses");
+
     private final Plugin plugin;
     private final Map<String, BaseModule> modules;
     private final Map<String, ModuleInfo> moduleInfos;
     private final List<BaseModule> loadOrder;
+    private final Set<String> lazyModules;
+    private final Set<String> configuredLazyModules;
+    private final ModuleJarLoader jarLoader;
+    private final Map<String, List<String>> leakReports;
+
+    private long defaultIdleUnloadMillis = 0;
+    private TaskHandle idleUnloadTask;
 
     private boolean isInitialized = false;
     private boolean isShuttingDown = false;
@@ -27,6 +61,10 @@ public class ModuleManager
         this.modules = new ConcurrentHashMap<>();
         this.moduleInfos = new ConcurrentHashMap<>();
         this.loadOrder = new CopyOnWriteArrayList<>();
+        this.lazyModules = ConcurrentHashMap.newKeySet();
+        this.configuredLazyModules = ConcurrentHashMap.newKeySet();
+        this.jarLoader = new ModuleJarLoader(plugin, new File(plugin.getDataFolder(), "modules"));
+        this.leakReports = new ConcurrentHashMap<>();
 
         LoggerUtils.debug("ModuleManager инициализирован");
     }
@@ -45,8 +83,12 @@ public class ModuleManager
 
             loadModulesInOrder();
 
+            installLazyModules();
+
             isInitialized = true;
 
+            scheduleIdleUnload();
+
             LoggerUtils.debug("Модульная система инициализирована");
             LoggerUtils.stats("Статистика модулей", getModuleStats());
         }
@@ -65,9 +107,36 @@ public class ModuleManager
 
         registerUserModules();
 
+        registerExternalModules();
+
+        loadLazySettings();
+
         LoggerUtils.debug("Зарегистрировано модулей: " + moduleInfos.size());
     }
 
+    private void loadLazySettings()
+    {
+        ConfigurationManager configManager = CorePlugin.getInstance().getConfigurationManager();
+        configuredLazyModules.clear();
+        configuredLazyModules.addAll(configManager.getStringList("settings.yml", "modules.lazy"));
+
+        defaultIdleUnloadMillis = TimeUnit.MINUTES.toMillis(
+                Math.max(0, configManager.getLong("settings.yml", "modules.idle-unload-minutes", 0)));
+
+        for (ModuleInfo info : moduleInfos.values())
+        {
+            if (isLazyModule(info.getModule()))
+            {
+                lazyModules.add(info.getName());
+            }
+        }
+
+        if (!lazyModules.isEmpty())
+        {
+            LoggerUtils.debug("Модули с отложенной активацией: " + String.join(", ", lazyModules));
+        }
+    }
+
     private void registerCoreModules()
     {
         registerModule(new CoreModule(plugin, "Core"));
@@ -78,6 +147,23 @@ public class ModuleManager
         registerModule(new EconomyModule(plugin, "Economy"));
     }
 
+    private void registerExternalModules()
+    {
+        for (ModuleJarLoader.ModuleJar moduleJar : jarLoader.sortByDependencies(jarLoader.scan()))
+        {
+            if (moduleInfos.containsKey(moduleJar.getModuleName()))
+            {
+                LoggerUtils.warning("Модуль '" + moduleJar.getModuleName() + "' из " + moduleJar.getFile().getName() +
+                        " конфликтует с уже зарегистрированным модулем");
+                continue;
+            }
+
+            BaseModule module = jarLoader.load(moduleJar);
+
+            if (module != null) registerModule(module);
+        }
+    }
+
     public void registerModule(BaseModule module)
     {
         String moduleName = module.getName();
@@ -89,6 +175,7 @@ public class ModuleManager
         }
         ModuleInfo info = new ModuleInfo(module);
         moduleInfos.put(moduleName, info);
+        ModuleResourceRegistry.bind(module.getResources());
 
         LoggerUtils.debug("Модуль зарегистрирован: " + moduleName);
     }
@@ -101,10 +188,417 @@ public class ModuleManager
 
         LoggerUtils.debug("Порядок загрузки: " + String.join(" -> ", loadOrder));
 
+        preloadModuleConfigs(loadOrder);
+
+        List<List<String>> levels = calculateLoadLevels(loadOrder);
+        ExecutorService loaderExecutor = createLoaderExecutor(levels);
+
+        try
+        {
+            for (int level = 0; level < levels.size(); level++)
+            {
+                List<String> levelModules = levels.get(level);
+
+                LoggerUtils.debug("Уровень загрузки " + level + ": " + String.join(", ", levelModules));
+
+                Set<String> preloaded = runAsyncPhases(levelModules, loaderExecutor);
+
+                for (String moduleName : levelModules)
+                {
+                    ModuleInfo info = moduleInfos.get(moduleName);
+
+                    if (info == null || info.getState() == ModuleState.FAILED || isDeferred(info)) continue;
+
+                    loadModule(moduleName, preloaded.contains(moduleName));
+                }
+            }
+        }
+        finally
+        {
+            if (loaderExecutor != null)
+            {
+                loaderExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private void preloadModuleConfigs(List<String> loadOrder)
+    {
+        Map<String, Set<String>> configFiles = new LinkedHashMap<>();
+
         for (String moduleName : loadOrder)
         {
-            loadModule(moduleName);
+            ModuleInfo info = moduleInfos.get(moduleName);
+
+            if (info == null || isDeferred(info)) continue;
+
+            Set<String> files = info.getModule().getConfigFiles();
+
+            if (!files.isEmpty()) configFiles.put(moduleName, files);
+        }
+
+        if (configFiles.isEmpty()) return;
+
+        if (!CorePlugin.getInstance().getConfigurationManager().loadConfigs(configFiles))
+        {
+            LoggerUtils.warning("Не все конфигурации модулей загружены");
+        }
+    }
+
+    private boolean loadModuleConfigs(BaseModule module)
+    {
+        ConfigurationManager configManager = CorePlugin.getInstance().getConfigurationManager();
+        Set<String> missing = new LinkedHashSet<>();
+
+        for (String fileName : module.getConfigFiles())
+        {
+            if (!configManager.isConfigLoaded(fileName, module.getName())) missing.add(fileName);
+        }
+
+        return missing.isEmpty() || configManager.loadConfigs(missing, module.getName());
+    }
+
+    private List<List<String>> calculateLoadLevels(List<String> loadOrder)
+    {
+        Map<String, Integer> depths = new HashMap<>();
+        List<List<String>> levels = new ArrayList<>();
+
+        for (String moduleName : loadOrder)
+        {
+            int depth = 0;
+
+            ModuleInfo info = moduleInfos.get(moduleName);
+            if (info != null)
+            {
+                for (String dependency : info.getDependencies())
+                {
+                    Integer dependencyDepth = depths.get(dependency);
+
+                    if (dependencyDepth != null) depth = Math.max(depth, dependencyDepth + 1);
+                }
+            }
+
+            depths.put(moduleName, depth);
+
+            while (levels.size() <= depth)
+            {
+                levels.add(new ArrayList<>());
+            }
+
+            levels.get(depth).add(moduleName);
+        }
+
+        return levels;
+    }
+
+    private ExecutorService createLoaderExecutor(List<List<String>> levels)
+    {
+        int maxParallel = 0;
+
+        for (List<String> level : levels)
+        {
+            int asyncModules = 0;
+
+            for (String moduleName : level)
+            {
+                ModuleInfo info = moduleInfos.get(moduleName);
+
+                if (info != null && info.getModule().supportsAsyncLoad()) asyncModules++;
+            }
+
+            maxParallel = Math.max(maxParallel, asyncModules);
+        }
+
+        if (maxParallel == 0) return null;
+
+        int threads = Math.min(maxParallel, Math.max(1, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadCounter = new AtomicInteger(0);
+
+        return Executors.newFixedThreadPool(threads, runnable ->
+        {
+            Thread thread = new Thread(runnable, "Core-Module-Loader-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private Set<String> runAsyncPhases(List<String> levelModules, ExecutorService loaderExecutor)
+    {
+        if (loaderExecutor == null) return Set.of();
+
+        Map<String, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+
+        for (String moduleName : levelModules)
+        {
+            ModuleInfo info = moduleInfos.get(moduleName);
+
+            if (info == null || !info.getModule().supportsAsyncLoad() || isDeferred(info)) continue;
+            if (info.getState() == ModuleState.LOADED || !areDependenciesLoaded(info)) continue;
+
+            info.setState(ModuleState.LOADING);
+            futures.put(moduleName, CompletableFuture.supplyAsync(() -> runAsyncPhase(info), loaderExecutor));
+        }
+
+        Set<String> preloaded = new HashSet<>();
+
+        for (Map.Entry<String, CompletableFuture<Boolean>> entry : futures.entrySet())
+        {
+            if (entry.getValue().join()) preloaded.add(entry.getKey());
+        }
+
+        return preloaded;
+    }
+
+    private boolean runAsyncPhase(ModuleInfo info)
+    {
+        long startTime = System.nanoTime();
+        long startAllocated = allocatedBytes();
+
+        try
+        {
+            BaseModule module = info.getModule();
+
+            if (!loadModuleConfigs(module))
+            {
+                throw new IllegalStateException("Не удалось загрузить конфигурации модуля");
+            }
+
+            ModuleResourceRegistry.runAs(module.getName(), module::onLoadAsync);
+            info.setAsyncLoadNanos(System.nanoTime() - startTime);
+            StartupTracer.record("module " + info.getName() + " (async)", startTime, System.nanoTime());
+            info.setAsyncAllocatedBytes(allocatedSince(startAllocated));
+            return true;
+        }
+        catch (Exception exception)
+        {
+            LoggerUtils.error("Ошибка асинхронной загрузки модуля: " + info.getName(), exception);
+            info.setAsyncLoadNanos(System.nanoTime() - startTime);
+            info.setState(ModuleState.FAILED);
+            info.setLastError(exception.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isLazyModule(BaseModule module)
+    {
+        return module.isLazy() || configuredLazyModules.contains(module.getName());
+    }
+
+    private boolean isDeferred(ModuleInfo info)
+    {
+        return lazyModules.contains(info.getName()) && info.getState() == ModuleState.REGISTERED;
+    }
+
+    private void installLazyModules()
+    {
+        for (String moduleName : lazyModules)
+        {
+            ModuleInfo info = moduleInfos.get(moduleName);
+
+            if (info != null && info.getState() == ModuleState.REGISTERED)
+            {
+                installActivationTriggers(info.getModule());
+                LoggerUtils.module(moduleName, "ожидает активации");
+            }
+        }
+    }
+
+    private void installActivationTriggers(BaseModule module)
+    {
+        String moduleName = module.getName();
+
+        for (String command : module.getActivationCommands())
+        {
+            CommandManager.registerCommand(module, new LazyModuleCommand(this, moduleName, command));
+        }
+
+        PlaceholderManager placeholderManager = CorePlugin.getInstance().getPlaceholderManager();
+        if (placeholderManager != null && placeholderManager.isInitialized())
+        {
+            for (String identifier : module.getActivationPlaceholders())
+            {
+                placeholderManager.registerPlaceholder(module, identifier, createLazyPlaceholder(module, identifier));
+            }
+        }
+
+        HttpServerManager httpServerManager = CorePlugin.getInstance().getHttpServerManager();
+        if (httpServerManager != null && httpServerManager.isRunning())
+        {
+            for (String path : module.getActivationEndpoints())
+            {
+                httpServerManager.registerEndpoint(module, path, createLazyEndpoint(moduleName, path));
+            }
+        }
+    }
+
+    private void removeActivationTriggers(BaseModule module)
+    {
+        CommandManager.unregisterCommands(module);
+
+        PlaceholderManager placeholderManager = CorePlugin.getInstance().getPlaceholderManager();
+        if (placeholderManager != null && !module.getActivationPlaceholders().isEmpty())
+        {
+            placeholderManager.unregisterPlaceholders(module);
+        }
+
+        HttpServerManager httpServerManager = CorePlugin.getInstance().getHttpServerManager();
+        if (httpServerManager != null && !module.getActivationEndpoints().isEmpty())
+        {
+            httpServerManager.unregisterEndpoints(module);
+        }
+    }
+
+    private PlaceholderHandler createLazyPlaceholder(BaseModule module, String identifier)
+    {
+        String moduleName = module.getName();
+
+        return (player, params) ->
+        {
+            if (!Bukkit.isPrimaryThread())
+            {
+                requestActivation(moduleName, "плейсхолдер " + identifier);
+                return "";
+            }
+
+            if (!activateModule(moduleName, "плейсхолдер " + identifier)) return "";
+
+            PlaceholderHandler handler = CorePlugin.getInstance().getPlaceholderManager().getPlaceholder(module, identifier);
+            return handler != null ? handler.onPlaceholderRequest(player, params) : "";
+        };
+    }
+
+    private HttpRequestHandler createLazyEndpoint(String moduleName, String path)
+    {
+        return exchange ->
+        {
+            boolean activated;
+
+            try
+            {
+                activated = requestActivation(moduleName, "HTTP " + path).get(5, TimeUnit.SECONDS);
+            }
+            catch (TimeoutException exception)
+            {
+                activated = false;
+            }
+
+            HttpRequestHandler handler = activated ? CorePlugin.getInstance().getHttpServerManager().getHandler(path) : null;
+
+            if (handler == null)
+            {
+                return HttpResponse.status(503, "text/plain; charset=utf-8", "Модуль " + moduleName + " недоступен");
+            }
+
+            return handler.handle(exchange);
+        };
+    }
+
+    public boolean activateModule(String moduleName, String reason)
+    {
+        ModuleInfo info = moduleInfos.get(moduleName);
+
+        if (info == null) return false;
+        if (info.getState() == ModuleState.LOADED) return true;
+
+        if (!Bukkit.isPrimaryThread())
+        {
+            LoggerUtils.warning("Активация модуля " + moduleName + " возможна только в основном потоке");
+            return false;
+        }
+
+        if (lazyModules.contains(moduleName))
+        {
+            removeActivationTriggers(info.getModule());
+        }
+
+        loadModule(moduleName);
+
+        if (info.getState() != ModuleState.LOADED)
+        {
+            LoggerUtils.error("Не удалось активировать модуль " + moduleName + " (" + reason + ")");
+            return false;
+        }
+
+        info.getModule().markActive();
+        LoggerUtils.module(moduleName, "активирован по требованию (" + reason + ")");
+        return true;
+    }
+
+    public CompletableFuture<Boolean> requestActivation(String moduleName, String reason)
+    {
+        if (Bukkit.isPrimaryThread())
+        {
+            return CompletableFuture.completedFuture(activateModule(moduleName, reason));
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        try
+        {
+            Bukkit.getScheduler().runTask(plugin, () -> result.complete(activateModule(moduleName, reason)));
+        }
+        catch (Exception exception)
+        {
+            LoggerUtils.warning("Не удалось запланировать активацию модуля " + moduleName + ": " + exception.getMessage());
+            result.complete(false);
+        }
+
+        return result;
+    }
+
+    private void scheduleIdleUnload()
+    {
+        AsyncTaskScheduler taskScheduler = CorePlugin.getInstance().getTaskScheduler();
+
+        if (taskScheduler == null) return;
+
+        idleUnloadTask = ModuleResourceRegistry.callAs(null, () ->
+                taskScheduler.scheduleSyncRepeating("module-idle-unload", this::unloadIdleModules, 20L * 60, 20L * 60));
+    }
+
+    public void unloadIdleModules()
+    {
+        if (!isInitialized || isShuttingDown) return;
+
+        long now = System.currentTimeMillis();
+
+        for (String moduleName : lazyModules)
+        {
+            ModuleInfo info = moduleInfos.get(moduleName);
+
+            if (info == null || info.getState() != ModuleState.LOADED) continue;
+
+            BaseModule module = info.getModule();
+            long idleMillis = module.getIdleUnloadMillis() > 0 ? module.getIdleUnloadMillis() : defaultIdleUnloadMillis;
+
+            if (idleMillis <= 0 || now - module.getLastActivity() < idleMillis) continue;
+            if (!findDependentModules(moduleName).isEmpty()) continue;
+
+            unloadModule(moduleName);
+
+            if (info.getState() == ModuleState.UNLOADED)
+            {
+                installActivationTriggers(module);
+                LoggerUtils.module(moduleName, "выгружен после простоя");
+            }
+        }
+    }
+
+    public boolean isLazy(String moduleName)
+    {
+        return lazyModules.contains(moduleName);
+    }
+
+    private boolean areDependenciesLoaded(ModuleInfo info)
+    {
+        for (String dependency : info.getDependencies())
+        {
+            ModuleInfo dependencyInfo = moduleInfos.get(dependency);
+
+            if (dependencyInfo == null || dependencyInfo.getState() != ModuleState.LOADED) return false;
         }
+
+        return true;
     }
 
     private List<String> calculateLoadOrder()
@@ -157,6 +651,11 @@ public class ModuleManager
     }
 
     public void loadModule(String moduleName)
+    {
+        loadModule(moduleName, false);
+    }
+
+    private void loadModule(String moduleName, boolean asyncPhaseDone)
     {
         if (isShuttingDown)
         {
@@ -191,15 +690,50 @@ public class ModuleManager
             info.setState(ModuleState.LOADING);
 
             BaseModule module = info.getModule();
-            module.onLoad();
+
+            if (!asyncPhaseDone)
+            {
+                info.setAsyncLoadNanos(0);
+                info.setAsyncAllocatedBytes(0);
+
+                if (module.supportsAsyncLoad() && !runAsyncPhase(info)) return;
+            }
+
+            if (!asyncPhaseDone && !module.supportsAsyncLoad() && !loadModuleConfigs(module))
+            {
+                LoggerUtils.error("Не удалось загрузить конфигурации модуля: " + moduleName);
+                info.setState(ModuleState.FAILED);
+                info.setLastError("Не удалось загрузить конфигурации модуля");
+                return;
+            }
+
+            long mainStartTime = System.nanoTime();
+            long mainStartAllocated = allocatedBytes();
+            String previousOwner = TickProfiler.enter(module.getName());
+            String previousContext = ModuleResourceRegistry.enter(module.getName());
+
+            try
+            {
+                module.onLoad();
+            }
+            finally
+            {
+                ModuleResourceRegistry.exit(previousContext);
+                TickProfiler.exit(previousOwner);
+            }
 
             modules.put(moduleName, module);
             loadOrder.add(module);
 
+            StartupTracer.record("module " + moduleName, mainStartTime, System.nanoTime());
+            info.setLoadDurationNanos(info.getAsyncLoadNanos() + (System.nanoTime() - mainStartTime));
+            info.setLoadAllocatedBytes(info.getAsyncAllocatedBytes() + allocatedSince(mainStartAllocated));
             info.setState(ModuleState.LOADED);
             info.setLoadTime(System.currentTimeMillis());
 
             LoggerUtils.module(moduleName, "загружен");
+            LoggerUtils.debug(String.format(Locale.ROOT, "Модуль %s загружен за %.1f мс (асинхронно %.1f мс)",
+                    moduleName, info.getLoadDurationMillis(), info.getAsyncLoadNanos() / 1_000_000.0));
         }
         catch (Exception exception)
         {
@@ -242,12 +776,24 @@ public class ModuleManager
             info.setState(ModuleState.UNLOADING);
 
             BaseModule module = modules.get(moduleName);
+            long unloadStartTime = System.nanoTime();
 
-            if (module != null) module.onUnload();
+            if (module != null)
+            {
+                try
+                {
+                    ModuleResourceRegistry.runAs(moduleName, module::onUnload);
+                }
+                finally
+                {
+                    releaseModuleResources(module);
+                }
+            }
 
             modules.remove(moduleName);
             loadOrder.remove(module);
 
+            info.setUnloadDurationNanos(System.nanoTime() - unloadStartTime);
             info.setState(ModuleState.UNLOADED);
 
             LoggerUtils.module(moduleName, "выгружен");
@@ -260,16 +806,348 @@ public class ModuleManager
         }
     }
 
+    private void releaseModuleResources(BaseModule module)
+    {
+        if (isShuttingDown)
+        {
+            int detached = module.getResources().detach("database");
+
+            if (detached > 0)
+            {
+                LoggerUtils.debug("Модуль " + module.getName() + ": пулов БД передано в параллельную остановку: " + detached);
+            }
+        }
+
+        Map<String, Integer> leftovers = module.getResources().releaseAll();
+
+        if (!leftovers.isEmpty())
+        {
+            LoggerUtils.warning("Модуль " + module.getName() + " не освободил ресурсы при выгрузке, освобождены автоматически: " + leftovers);
+        }
+
+        CommandManager.unregisterCommands(module);
+
+        PlaceholderManager placeholderManager = CorePlugin.getInstance().getPlaceholderManager();
+        if (placeholderManager != null)
+        {
+            placeholderManager.unregisterPlaceholders(module);
+        }
+
+        HttpServerManager httpServerManager = CorePlugin.getInstance().getHttpServerManager();
+        if (httpServerManager != null)
+        {
+            httpServerManager.unregisterEndpoints(module);
+        }
+
+        AsyncTaskScheduler taskScheduler = CorePlugin.getInstance().getTaskScheduler();
+        if (taskScheduler != null)
+        {
+            taskScheduler.cancelTasks(module.getName());
+        }
+    }
+
+    private void scheduleLeakCheck(ModuleResourceRegistry registry, long oldCollectionsBaseline, int attempt)
+    {
+        AsyncTaskScheduler taskScheduler = CorePlugin.getInstance().getTaskScheduler();
+
+        if (taskScheduler == null || isShuttingDown) return;
+
+        ModuleResourceRegistry.runAs(null, () ->
+                taskScheduler.scheduleAsync("module-leak-check", () -> checkLeaks(registry, oldCollectionsBaseline, attempt),
+                        LEAK_CHECK_DELAY_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private void checkLeaks(ModuleResourceRegistry registry, long oldCollectionsBaseline, int attempt)
+    {
+        List<String> leaks = registry.collectLeaks();
+        String moduleName = registry.getModuleName();
+
+        if (leaks.isEmpty())
+        {
+            registry.clearWatched();
+            leakReports.remove(moduleName);
+            return;
+        }
+
+        if (getOldCollectionCount() <= oldCollectionsBaseline)
+        {
+            if (attempt < LEAK_CHECK_MAX_ATTEMPTS)
+            {
+                scheduleLeakCheck(registry, oldCollectionsBaseline, attempt + 1);
+            }
+            else
+            {
+                registry.clearWatched();
+                LoggerUtils.debug("Модуль " + moduleName + ": проверка утечек пропущена, полной сборки мусора не было");
+            }
+
+            return;
+        }
+
+        registry.clearWatched();
+        leakReports.put(moduleName, leaks);
+        LoggerUtils.warning("Модуль " + moduleName + ": после выгрузки остаются достижимыми " + leaks.size() +
+                " объектов: " + String.join(", ", leaks));
+    }
+
+    private static long getOldCollectionCount()
+    {
+        long count = 0;
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            String name = collector.getName();
+
+            if (YOUNG_COLLECTOR_MARKERS.stream().noneMatch(name::contains))
+            {
+                count += Math.max(0, collector.getCollectionCount());
+            }
+        }
+
+        return count;
+    }
+
+    public Map<String, List<String>> getLeakReports()
+    {
+        return new TreeMap<>(leakReports);
+    }
+
     public void reloadModule(String moduleName)
     {
         LoggerUtils.debug("Перезагрузка модуля: " + moduleName);
 
-        unloadModule(moduleName);
-        loadModule(moduleName);
+        if (jarLoader.isExternal(moduleName))
+        {
+            reloadExternalModule(moduleName);
+        }
+        else
+        {
+            unloadModule(moduleName);
+            loadModule(moduleName);
+        }
 
         LoggerUtils.module(moduleName, "перезагружен");
     }
 
+    private void reloadExternalModule(String moduleName)
+    {
+        Set<String> dependents = new HashSet<>();
+        collectJarDependents(moduleName, dependents);
+
+        removeExternalModule(moduleName);
+
+        List<ModuleJarLoader.ModuleJar> moduleJars = jarLoader.scan();
+
+        if (moduleJars.stream().noneMatch(moduleJar -> moduleJar.getModuleName().equals(moduleName)))
+        {
+            LoggerUtils.warning("Jar модуля " + moduleName + " не найден в " + jarLoader.getModulesFolder().getPath());
+            return;
+        }
+
+        for (ModuleJarLoader.ModuleJar moduleJar : jarLoader.sortByDependencies(moduleJars))
+        {
+            String jarModuleName = moduleJar.getModuleName();
+
+            if (!jarModuleName.equals(moduleName) && !dependents.contains(jarModuleName)) continue;
+
+            BaseModule module = jarLoader.load(moduleJar);
+
+            if (module != null)
+            {
+                registerModule(module);
+                activateOrDefer(module);
+            }
+        }
+    }
+
+    private void collectJarDependents(String moduleName, Set<String> dependents)
+    {
+        for (String dependent : jarLoader.getDependents(moduleName))
+        {
+            if (dependents.add(dependent)) collectJarDependents(dependent, dependents);
+        }
+    }
+
+    private void removeExternalModule(String moduleName)
+    {
+        for (String dependent : jarLoader.getDependents(moduleName))
+        {
+            removeExternalModule(dependent);
+            LoggerUtils.module(dependent, "выгружен вместе с зависимостью " + moduleName);
+        }
+
+        ModuleInfo info = moduleInfos.get(moduleName);
+
+        if (info != null)
+        {
+            if (info.getState() == ModuleState.LOADED)
+            {
+                unloadModule(moduleName);
+            }
+            else if (lazyModules.contains(moduleName))
+            {
+                removeActivationTriggers(info.getModule());
+            }
+        }
+
+        moduleInfos.remove(moduleName);
+        modules.remove(moduleName);
+        lazyModules.remove(moduleName);
+
+        if (info != null)
+        {
+            BaseModule module = info.getModule();
+            ModuleResourceRegistry registry = module.getResources();
+
+            registry.watch("module", module.getClass().getName(), module);
+            registry.watch("classloader", moduleName, module.getClass().getClassLoader());
+            ModuleResourceRegistry.unbind(registry);
+            scheduleLeakCheck(registry, getOldCollectionCount(), 1);
+        }
+
+        jarLoader.close(moduleName);
+    }
+
+    private void activateOrDefer(BaseModule module)
+    {
+        if (isLazyModule(module))
+        {
+            lazyModules.add(module.getName());
+            installActivationTriggers(module);
+            LoggerUtils.module(module.getName(), "ожидает активации");
+        }
+        else
+        {
+            loadModule(module.getName());
+        }
+    }
+
+    public int rescanModules()
+    {
+        if (!isInitialized || isShuttingDown) return 0;
+
+        int changes = 0;
+        Set<String> found = new HashSet<>();
+
+        for (ModuleJarLoader.ModuleJar moduleJar : jarLoader.sortByDependencies(jarLoader.scan()))
+        {
+            String moduleName = moduleJar.getModuleName();
+            found.add(moduleName);
+
+            if (!moduleInfos.containsKey(moduleName))
+            {
+                BaseModule module = jarLoader.load(moduleJar);
+
+                if (module != null)
+                {
+                    registerModule(module);
+                    activateOrDefer(module);
+                    changes++;
+                }
+            }
+            else if (jarLoader.isOutdated(moduleName, moduleJar))
+            {
+                reloadExternalModule(moduleName);
+                changes++;
+            }
+        }
+
+        for (String moduleName : jarLoader.getExternalModuleNames())
+        {
+            if (!found.contains(moduleName))
+            {
+                removeExternalModule(moduleName);
+                LoggerUtils.module(moduleName, "удален вместе с jar");
+                changes++;
+            }
+        }
+
+        LoggerUtils.debug("Пересканирование модулей завершено, изменений: " + changes);
+        return changes;
+    }
+
+    public ModuleResources getModuleResources(String moduleName)
+    {
+        ModuleInfo info = moduleInfos.get(moduleName);
+
+        if (info == null) return ModuleResources.EMPTY;
+
+        BaseModule module = info.getModule();
+        CorePlugin corePlugin = CorePlugin.getInstance();
+
+        PlaceholderManager placeholderManager = corePlugin.getPlaceholderManager();
+        HttpServerManager httpServerManager = corePlugin.getHttpServerManager();
+        AsyncTaskScheduler taskScheduler = corePlugin.getTaskScheduler();
+
+        return new ModuleResources(
+                CommandManager.getCommandCount(module),
+                placeholderManager != null ? placeholderManager.getPlaceholderCount(module) : 0,
+                httpServerManager != null ? httpServerManager.getEndpointCount(module) : 0,
+                taskScheduler != null ? taskScheduler.getTaskCount(moduleName) : 0,
+                DatabaseManager.getPoolCount(moduleName));
+    }
+
+    public String toJson()
+    {
+        List<ModuleInfo> infos = new ArrayList<>(moduleInfos.values());
+        infos.sort(Comparator.comparing(ModuleInfo::getName));
+
+        StringBuilder json = new StringBuilder("{\"modules\":[");
+
+        for (int i = 0; i < infos.size(); i++)
+        {
+            ModuleInfo info = infos.get(i);
+
+            if (i > 0) json.append(',');
+            json.append(info.toJson(getModuleResources(info.getName()), isLazy(info.getName()), isExternalModule(info.getName())));
+        }
+
+        json.append("],\"leaks\":{");
+
+        int index = 0;
+
+        for (Map.Entry<String, List<String>> entry : getLeakReports().entrySet())
+        {
+            if (index++ > 0) json.append(',');
+            json.append(JsonUtils.quote(entry.getKey())).append(":[");
+
+            for (int i = 0; i < entry.getValue().size(); i++)
+            {
+                if (i > 0) json.append(',');
+                json.append(JsonUtils.quote(entry.getValue().get(i)));
+            }
+
+            json.append(']');
+        }
+
+        return json.append("}}").toString();
+    }
+
+    private static long allocatedBytes()
+    {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        if (threadBean instanceof com.sun.management.ThreadMXBean sunThreadBean && sunThreadBean.isThreadAllocatedMemoryEnabled())
+        {
+            return sunThreadBean.getCurrentThreadAllocatedBytes();
+        }
+
+        return -1;
+    }
+
+    private static long allocatedSince(long startAllocated)
+    {
+        if (startAllocated < 0) return 0;
+
+        long current = allocatedBytes();
+        return current >= startAllocated ? current - startAllocated : 0;
+    }
+
+    public boolean isExternalModule(String moduleName)
+    {
+        return jarLoader.isExternal(moduleName);
+    }
+
     public void unloadAllModules()
     {
         if (!isInitialized)
@@ -280,6 +1158,12 @@ public class ModuleManager
 
         isShuttingDown = true;
 
+        if (idleUnloadTask != null)
+        {
+            idleUnloadTask.cancel();
+            idleUnloadTask = null;
+        }
+
         LoggerUtils.separator("ВЫГРУЗКА МОДУЛЕЙ");
 
         List<BaseModule> modulesToUnload = new ArrayList<>(loadOrder);
@@ -290,9 +1174,28 @@ public class ModuleManager
             unloadModule(module.getName());
         }
 
+        for (String moduleName : lazyModules)
+        {
+            ModuleInfo info = moduleInfos.get(moduleName);
+
+            if (info != null && info.getState() != ModuleState.LOADED)
+            {
+                removeActivationTriggers(info.getModule());
+            }
+        }
+
+        for (ModuleInfo info : moduleInfos.values())
+        {
+            ModuleResourceRegistry.unbind(info.getModule().getResources());
+        }
+
         modules.clear();
         loadOrder.clear();
         moduleInfos.clear();
+        lazyModules.clear();
+        leakReports.clear();
+
+        jarLoader.closeAll();
 
         isInitialized = false;
         isShuttingDown = false;
@@ -316,7 +1219,14 @@ public class ModuleManager
 
             if (depInfo.getState() != ModuleState.LOADED)
             {
-                loadModule(dependency);
+                if (lazyModules.contains(dependency))
+                {
+                    activateModule(dependency, "зависимость модуля " + moduleName);
+                }
+                else
+                {
+                    loadModule(dependency);
+                }
 
                 if (depInfo.getState() != ModuleState.LOADED)
                 {
@@ -347,7 +1257,26 @@ public class ModuleManager
 
     public BaseModule getModule(String moduleName)
     {
-        return modules.get(moduleName);
+        BaseModule module = modules.get(moduleName);
+
+        if (module == null && lazyModules.contains(moduleName))
+        {
+            if (Bukkit.isPrimaryThread())
+            {
+                if (activateModule(moduleName, "getModule")) module = modules.get(moduleName);
+            }
+            else
+            {
+                requestActivation(moduleName, "getModule");
+            }
+        }
+
+        if (module != null)
+        {
+            module.markActive();
+        }
+
+        return module;
     }
 
     @SuppressWarnings("unchecked")
@@ -357,9 +1286,21 @@ public class ModuleManager
         {
             if (moduleClass.isInstance(module))
             {
+                module.markActive();
                 return (T) module;
             }
         }
+
+        for (String moduleName : lazyModules)
+        {
+            ModuleInfo info = moduleInfos.get(moduleName);
+
+            if (info != null && moduleClass.isInstance(info.getModule()))
+            {
+                return (T) getModule(moduleName);
+            }
+        }
+
         return null;
     }
 
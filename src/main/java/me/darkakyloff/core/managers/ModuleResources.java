@@ -0,0 +1,20 @@
+package me.darkakyloff.core.managers;
+
+public record ModuleResources(int commands, int placeholders, int endpoints, int tasks, int databasePools)
+{
+    public static final ModuleResources EMPTY = new ModuleResources(0, 0, 0, 0, 0);
+
+    public int total()
+    {
+        return commands + placeholders + endpoints + tasks + databasePools;
+    }
+
+    public String toJson()
+    {
+        return "{\"commands\":" + commands +
+                ",\"placeholders\":" + placeholders +
+                ",\"endpoints\":" + endpoints +
+                ",\"tasks\":" + tasks +
+                ",\"databasePools\":" + databasePools + "}";
+    }
+}
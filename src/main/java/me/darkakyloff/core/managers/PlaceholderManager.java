@@ -3,6 +3,7 @@ package me.darkakyloff.core.managers;
 import me.darkakyloff.core.api.placeholder.PlaceholderHandler;
 import me.darkakyloff.core.api.placeholder.PlaceholderExpansion;
 import me.darkakyloff.core.modules.BaseModule;
+import me.darkakyloff.core.tasks.TickProfiler;
 import me.darkakyloff.core.utils.LoggerUtils;
 import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
@@ -14,6 +15,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class PlaceholderManager
 {
     private final Map<String, PlaceholderHandler> internalHandlers;
+    private final Map<String, String> handlerOwners;
     private final Map<BaseModule, PlaceholderExpansion> moduleExpansions;
     private PlaceholderExpansion coreExpansion;
 
@@ -23,6 +25,7 @@ public class PlaceholderManager
     public PlaceholderManager()
     {
         this.internalHandlers = new ConcurrentHashMap<>();
+        this.handlerOwners = new ConcurrentHashMap<>();
         this.moduleExpansions = new ConcurrentHashMap<>();
         
         LoggerUtils.debug("PlaceholderManager создан");
@@ -118,18 +121,26 @@ public class PlaceholderManager
             return false;
         }
         
+        PlaceholderHandler trackedHandler = (player, params) ->
+        {
+            module.markActive();
+            return handler.onPlaceholderRequest(player, params);
+        };
+
         try
         {
             if (placeholderAPIAvailable)
             {
                 PlaceholderExpansion expansion = getOrCreateModuleExpansion(module);
-                expansion.registerHandler(identifier, handler);
+                expansion.registerHandler(identifier, trackedHandler);
                 
                 LoggerUtils.debug("Плейсхолдер зарегистрирован в PlaceholderAPI: " + module.getName().toLowerCase() + "_" + identifier);
             }
 
             String fullIdentifier = module.getName().toLowerCase() + "_" + identifier;
-            internalHandlers.put(fullIdentifier, handler);
+            internalHandlers.put(fullIdentifier, trackedHandler);
+            handlerOwners.put(fullIdentifier, module.getName());
+            module.getResources().track("placeholder", "%" + fullIdentifier + "%", trackedHandler, () -> unregisterPlaceholder(module, identifier));
             
             LoggerUtils.debug("Плейсхолдер зарегистрирован во внутренней системе: " + fullIdentifier);
             return true;
@@ -155,7 +166,8 @@ public class PlaceholderManager
             }
 
             String fullIdentifier = module.getName().toLowerCase() + "_" + identifier;
-            internalHandlers.remove(fullIdentifier);
+            module.getResources().untrack(internalHandlers.remove(fullIdentifier));
+            handlerOwners.remove(fullIdentifier);
             
             LoggerUtils.debug("Плейсхолдер выгружен: " + fullIdentifier);
             return true;
@@ -187,8 +199,12 @@ public class PlaceholderManager
             String modulePrefix = module.getName().toLowerCase() + "_";
             internalHandlers.entrySet().removeIf(entry -> 
             {
-                return entry.getKey().startsWith(modulePrefix);
+                if (!entry.getKey().startsWith(modulePrefix)) return false;
+
+                module.getResources().untrack(entry.getValue());
+                return true;
             });
+            handlerOwners.values().removeIf(owner -> owner.equals(module.getName()));
             
             LoggerUtils.debug("Плейсхолдеры модуля " + module.getName() + " выгружены");
         }
@@ -200,6 +216,23 @@ public class PlaceholderManager
         return unregistered;
     }
 
+    public int getPlaceholderCount(BaseModule module)
+    {
+        int count = 0;
+
+        for (String owner : handlerOwners.values())
+        {
+            if (owner.equals(module.getName())) count++;
+        }
+
+        return count;
+    }
+
+    public PlaceholderHandler getPlaceholder(BaseModule module, String identifier)
+    {
+        return internalHandlers.get(module.getName().toLowerCase() + "_" + identifier);
+    }
+
     public String setPlaceholders(OfflinePlayer player, String text)
     {
         if (text == null || text.isEmpty()) return text;
@@ -224,6 +257,8 @@ public class PlaceholderManager
             String placeholder = "%" + entry.getKey() + "%";
             if (result.contains(placeholder))
             {
+                long start = TickProfiler.start();
+
                 try
                 {
                     String value = entry.getValue().onPlaceholderRequest(player, entry.getKey());
@@ -236,6 +271,10 @@ public class PlaceholderManager
                 {
                     LoggerUtils.error("Ошибка обработки внутреннего плейсхолдера: " + entry.getKey(), exception);
                 }
+                finally
+                {
+                    TickProfiler.finish(handlerOwners.get(entry.getKey()), TickProfiler.Category.PLACEHOLDER, start);
+                }
             }
         }
         
@@ -254,7 +293,8 @@ public class PlaceholderManager
             PlaceholderExpansion expansion = new PlaceholderExpansion(
                 m.getName().toLowerCase(), 
                 m.getVersion(), 
-                m.getAuthor()
+                m.getAuthor(),
+                m.getName()
             );
             expansion.register();
             return expansion;
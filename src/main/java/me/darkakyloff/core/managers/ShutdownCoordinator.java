@@ -0,0 +1,211 @@
+package me.darkakyloff.core.managers;
+
+import me.darkakyloff.core.utils.LoggerUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ShutdownCoordinator
+{
+    private static final long INTERRUPT_GRACE_MILLIS = 500;
+
+    private final long startTime;
+    private final long deadline;
+    private final long timeoutMillis;
+    private final Map<String, ParallelStep> parallelSteps;
+    private final Map<String, Integer> dropped;
+    private final Map<String, Long> durations;
+    private final List<String> unfinished;
+
+    public ShutdownCoordinator(long timeoutMillis)
+    {
+        this.timeoutMillis = Math.max(0, timeoutMillis);
+        this.startTime = System.nanoTime();
+        this.deadline = startTime + TimeUnit.MILLISECONDS.toNanos(this.timeoutMillis);
+        this.parallelSteps = new LinkedHashMap<>();
+        this.dropped = new LinkedHashMap<>();
+        this.durations = new LinkedHashMap<>();
+        this.unfinished = new ArrayList<>();
+    }
+
+    public void runSync(String name, ShutdownStep step)
+    {
+        long stepStart = System.nanoTime();
+
+        try
+        {
+            record(name, step.run(getRemainingMillis()), System.nanoTime() - stepStart);
+        }
+        catch (Exception exception)
+        {
+            LoggerUtils.error("Ошибка остановки: " + name, exception);
+            record(name, 0, System.nanoTime() - stepStart);
+        }
+    }
+
+    public void addParallel(String name, ShutdownStep step)
+    {
+        parallelSteps.put(name, new ParallelStep(step));
+    }
+
+    public void awaitParallel()
+    {
+        if (parallelSteps.isEmpty()) return;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelSteps.size(), runnable ->
+        {
+            Thread thread = new Thread(runnable, "Core-Shutdown-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Map.Entry<String, ParallelStep> entry : parallelSteps.entrySet())
+        {
+            ParallelStep parallelStep = entry.getValue();
+
+            parallelStep.future = CompletableFuture.supplyAsync(() ->
+            {
+                long stepStart = System.nanoTime();
+
+                try
+                {
+                    return parallelStep.step.run(getRemainingMillis());
+                }
+                catch (Exception exception)
+                {
+                    LoggerUtils.error("Ошибка остановки: " + entry.getKey(), exception);
+                    return 0;
+                }
+                finally
+                {
+                    parallelStep.durationNanos = System.nanoTime() - stepStart;
+                }
+            }, executor);
+        }
+
+        awaitSteps(getRemainingMillis());
+
+        boolean timedOut = false;
+
+        for (Map.Entry<String, ParallelStep> entry : parallelSteps.entrySet())
+        {
+            if (entry.getValue().future.isDone()) continue;
+
+            unfinished.add(entry.getKey());
+            timedOut = true;
+        }
+
+        if (timedOut)
+        {
+            executor.shutdownNow();
+            awaitSteps(INTERRUPT_GRACE_MILLIS);
+        }
+
+        for (Map.Entry<String, ParallelStep> entry : parallelSteps.entrySet())
+        {
+            ParallelStep parallelStep = entry.getValue();
+
+            if (parallelStep.future.isDone())
+            {
+                record(entry.getKey(), parallelStep.future.getNow(0), parallelStep.durationNanos);
+            }
+            else
+            {
+                record(entry.getKey(), 0, System.nanoTime() - startTime);
+            }
+        }
+
+        parallelSteps.clear();
+        executor.shutdownNow();
+    }
+
+    private void awaitSteps(long timeoutMillis)
+    {
+        try
+        {
+            CompletableFuture.allOf(parallelSteps.values().stream()
+                    .map(parallelStep -> parallelStep.future)
+                    .toArray(CompletableFuture[]::new))
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (Exception ignored)
+        {
+        }
+    }
+
+    public long getRemainingMillis()
+    {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    public void report()
+    {
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        StringBuilder timings = new StringBuilder();
+
+        for (Map.Entry<String, Long> entry : durations.entrySet())
+        {
+            if (timings.length() > 0) timings.append(", ");
+            timings.append(entry.getKey()).append(' ').append(TimeUnit.NANOSECONDS.toMillis(entry.getValue())).append(" мс");
+        }
+
+        LoggerUtils.debug("Остановка завершена за " + totalMillis + " мс (лимит " + timeoutMillis + " мс): " + timings);
+
+        if (!dropped.isEmpty())
+        {
+            LoggerUtils.warning("При остановке потеряно операций: " + dropped);
+        }
+
+        if (!unfinished.isEmpty())
+        {
+            LoggerUtils.warning("Не успели остановиться за " + timeoutMillis + " мс: " + String.join(", ", unfinished));
+        }
+    }
+
+    public Map<String, Integer> getDropped()
+    {
+        return new LinkedHashMap<>(dropped);
+    }
+
+    public List<String> getUnfinished()
+    {
+        return new ArrayList<>(unfinished);
+    }
+
+    private void record(String name, int droppedCount, long durationNanos)
+    {
+        durations.put(name, durationNanos);
+
+        if (droppedCount > 0)
+        {
+            dropped.merge(name, droppedCount, Integer::sum);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ShutdownStep
+    {
+        int run(long remainingMillis) throws Exception;
+    }
+
+    private static final class ParallelStep
+    {
+        private final ShutdownStep step;
+        private volatile CompletableFuture<Integer> future;
+        private volatile long durationNanos;
+
+        private ParallelStep(ShutdownStep step)
+        {
+            this.step = step;
+        }
+    }
+}
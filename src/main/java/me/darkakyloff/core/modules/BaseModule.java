@@ -2,10 +2,23 @@ package me.darkakyloff.core.modules;
 
 import me.darkakyloff.core.CorePlugin;
 import me.darkakyloff.core.api.database.DatabaseManager;
+import me.darkakyloff.core.tasks.AsyncTaskScheduler;
+import me.darkakyloff.core.tasks.TaskHandle;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
 import org.bukkit.plugin.Plugin;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public abstract class BaseModule
 {
@@ -15,6 +28,13 @@ public abstract class BaseModule
     private final String author;
     private final String description;
     private final Set<String> dependencies;
+    private final Set<String> configFiles;
+    private final Set<String> activationCommands;
+    private final Set<String> activationPlaceholders;
+    private final Set<String> activationEndpoints;
+    private final ModuleResourceRegistry resources;
+
+    private volatile long lastActivity;
 
     public BaseModule(Plugin plugin, String name)
     {
@@ -29,19 +49,79 @@ public abstract class BaseModule
         this.author = author;
         this.description = description;
         this.dependencies = new HashSet<>();
+        this.configFiles = new LinkedHashSet<>();
+        this.activationCommands = new HashSet<>();
+        this.activationPlaceholders = new HashSet<>();
+        this.activationEndpoints = new HashSet<>();
+        this.resources = new ModuleResourceRegistry(name);
+        this.lastActivity = System.currentTimeMillis();
 
         initializeDependencies();
+        initializeConfigs();
+        initializeActivationTriggers();
     }
 
     protected void initializeDependencies()
     {
     }
 
+    protected void initializeConfigs()
+    {
+    }
+
+    protected void initializeActivationTriggers()
+    {
+    }
+
     protected void addDependency(String dependency)
     {
         dependencies.add(dependency);
     }
 
+    public void declareDependencies(Collection<String> declared)
+    {
+        dependencies.addAll(declared);
+    }
+
+    protected void addConfig(String fileName)
+    {
+        configFiles.add(fileName);
+    }
+
+    protected void addActivationCommand(String command)
+    {
+        activationCommands.add(command.toLowerCase());
+    }
+
+    protected void addActivationPlaceholder(String identifier)
+    {
+        activationPlaceholders.add(identifier);
+    }
+
+    protected void addActivationEndpoint(String path)
+    {
+        activationEndpoints.add(path);
+    }
+
+    public boolean isLazy()
+    {
+        return false;
+    }
+
+    public long getIdleUnloadMillis()
+    {
+        return 0;
+    }
+
+    public boolean supportsAsyncLoad()
+    {
+        return false;
+    }
+
+    public void onLoadAsync()
+    {
+    }
+
     public abstract void onLoad();
 
     public abstract void onUnload();
@@ -71,6 +151,115 @@ public abstract class BaseModule
         return new HashSet<>(dependencies);
     }
 
+    public Set<String> getConfigFiles()
+    {
+        return new LinkedHashSet<>(configFiles);
+    }
+
+    public Set<String> getActivationCommands()
+    {
+        return new HashSet<>(activationCommands);
+    }
+
+    public Set<String> getActivationPlaceholders()
+    {
+        return new HashSet<>(activationPlaceholders);
+    }
+
+    public Set<String> getActivationEndpoints()
+    {
+        return new HashSet<>(activationEndpoints);
+    }
+
+    public ModuleResourceRegistry getResources()
+    {
+        return resources;
+    }
+
+    protected <T extends Listener> T registerListener(T listener)
+    {
+        for (Method method : listener.getClass().getDeclaredMethods())
+        {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+
+            if (annotation == null || method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0]))
+            {
+                continue;
+            }
+
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            method.setAccessible(true);
+
+            Bukkit.getPluginManager().registerEvent(eventClass, listener, annotation.priority(),
+                    (handler, event) -> dispatchEvent(method, eventClass, handler, event), plugin, annotation.ignoreCancelled());
+        }
+
+        return resources.track("listener", listener.getClass().getName(), listener, () -> HandlerList.unregisterAll(listener));
+    }
+
+    private void dispatchEvent(Method method, Class<? extends Event> eventClass, Listener listener, Event event) throws EventException
+    {
+        if (!eventClass.isInstance(event)) return;
+
+        String previousContext = ModuleResourceRegistry.enter(name);
+
+        try
+        {
+            method.invoke(listener, event);
+        }
+        catch (InvocationTargetException exception)
+        {
+            throw new EventException(exception.getCause());
+        }
+        catch (IllegalAccessException exception)
+        {
+            throw new EventException(exception);
+        }
+        finally
+        {
+            ModuleResourceRegistry.exit(previousContext);
+        }
+    }
+
+    protected TaskHandle scheduleAsync(String taskName, Runnable runnable, long delay, TimeUnit unit)
+    {
+        AsyncTaskScheduler scheduler = getCorePlugin().getTaskScheduler();
+        return scheduler != null ? ModuleResourceRegistry.callAs(name, () -> scheduler.scheduleAsync(taskName, runnable, delay, unit)) : null;
+    }
+
+    protected TaskHandle scheduleRepeating(String taskName, Runnable runnable, long delay, long period, TimeUnit unit)
+    {
+        AsyncTaskScheduler scheduler = getCorePlugin().getTaskScheduler();
+        return scheduler != null ? ModuleResourceRegistry.callAs(name, () -> scheduler.scheduleRepeating(taskName, runnable, delay, period, unit)) : null;
+    }
+
+    protected TaskHandle scheduleSync(String taskName, Runnable runnable, long delay)
+    {
+        AsyncTaskScheduler scheduler = getCorePlugin().getTaskScheduler();
+        return scheduler != null ? ModuleResourceRegistry.callAs(name, () -> scheduler.scheduleSync(taskName, runnable, delay)) : null;
+    }
+
+    protected TaskHandle scheduleSyncRepeating(String taskName, Runnable runnable, long delay, long period)
+    {
+        AsyncTaskScheduler scheduler = getCorePlugin().getTaskScheduler();
+        return scheduler != null ? ModuleResourceRegistry.callAs(name, () -> scheduler.scheduleSyncRepeating(taskName, runnable, delay, period)) : null;
+    }
+
+    protected void runAsModule(Runnable action)
+    {
+        ModuleResourceRegistry.runAs(name, action);
+    }
+
+    public void markActive()
+    {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    public long getLastActivity()
+    {
+        return lastActivity;
+    }
+
     public boolean hasDependency(String moduleName)
     {
         return dependencies.contains(moduleName);
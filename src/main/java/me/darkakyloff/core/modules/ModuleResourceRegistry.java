@@ -0,0 +1,301 @@
+package me.darkakyloff.core.modules;
+
+import me.darkakyloff.core.tasks.TickProfiler;
+import me.darkakyloff.core.utils.LoggerUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class ModuleResourceRegistry
+{
+    private static final Map<String, ModuleResourceRegistry> registries = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> ownerContext = new ThreadLocal<>();
+    private static final String NO_OWNER = "\u0000";
+
+    private final String moduleName;
+    private final Map<Object, TrackedResource> resources;
+    private final List<ReleasedResource> released;
+
+    public ModuleResourceRegistry(String moduleName)
+    {
+        this.moduleName = moduleName;
+        this.resources = Collections.synchronizedMap(new IdentityHashMap<>());
+        this.released = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    public static ModuleResourceRegistry forOwner(String owner)
+    {
+        return owner != null ? registries.get(owner) : null;
+    }
+
+    public static void bind(ModuleResourceRegistry registry)
+    {
+        registries.put(registry.moduleName, registry);
+    }
+
+    public static void unbind(ModuleResourceRegistry registry)
+    {
+        registries.remove(registry.moduleName, registry);
+    }
+
+    public static String enter(String owner)
+    {
+        String previous = ownerContext.get();
+        ownerContext.set(owner != null ? owner : NO_OWNER);
+        return previous;
+    }
+
+    public static void exit(String previous)
+    {
+        if (previous == null)
+        {
+            ownerContext.remove();
+        }
+        else
+        {
+            ownerContext.set(previous);
+        }
+    }
+
+    public static String getCurrentOwner()
+    {
+        String owner = ownerContext.get();
+
+        if (owner == null) return TickProfiler.getCurrentOwner();
+
+        return owner.equals(NO_OWNER) ? null : owner;
+    }
+
+    public static <T> T callAs(String owner, Supplier<T> action)
+    {
+        String previous = enter(owner);
+
+        try
+        {
+            return action.get();
+        }
+        finally
+        {
+            exit(previous);
+        }
+    }
+
+    public static void runAs(String owner, Runnable action)
+    {
+        String previous = enter(owner);
+
+        try
+        {
+            action.run();
+        }
+        finally
+        {
+            exit(previous);
+        }
+    }
+
+    public static Runnable bindToCurrentOwner(Runnable action)
+    {
+        String owner = getCurrentOwner();
+
+        return owner != null ? () -> runAs(owner, action) : action;
+    }
+
+    public static void trackOwned(String owner, String type, String description, Object resource, Runnable teardown)
+    {
+        ModuleResourceRegistry registry = forOwner(owner);
+
+        if (registry != null)
+        {
+            registry.track(type, description, resource, teardown);
+        }
+    }
+
+    public static void untrackOwned(String owner, Object resource)
+    {
+        ModuleResourceRegistry registry = forOwner(owner);
+
+        if (registry != null)
+        {
+            registry.untrack(resource);
+        }
+    }
+
+    public <T> T track(String type, String description, T resource, Runnable teardown)
+    {
+        if (resource != null)
+        {
+            resources.put(resource, new TrackedResource(type, description, teardown));
+        }
+
+        return resource;
+    }
+
+    public <T extends AutoCloseable> T track(String type, String description, T resource)
+    {
+        return track(type, description, resource, () ->
+        {
+            try
+            {
+                resource.close();
+            }
+            catch (Exception exception)
+            {
+                throw new IllegalStateException(exception);
+            }
+        });
+    }
+
+    public void untrack(Object resource)
+    {
+        if (resource != null)
+        {
+            resources.remove(resource);
+        }
+    }
+
+    public void watch(String type, String description, Object reference)
+    {
+        if (reference != null)
+        {
+            released.add(new ReleasedResource(type, description, new WeakReference<>(reference)));
+        }
+    }
+
+    public int detach(String type)
+    {
+        int detached = 0;
+
+        synchronized (resources)
+        {
+            Iterator<TrackedResource> iterator = resources.values().iterator();
+
+            while (iterator.hasNext())
+            {
+                if (iterator.next().type.equals(type))
+                {
+                    iterator.remove();
+                    detached++;
+                }
+            }
+        }
+
+        return detached;
+    }
+
+    public Map<String, Integer> releaseAll()
+    {
+        List<Map.Entry<Object, TrackedResource>> entries;
+
+        synchronized (resources)
+        {
+            entries = new ArrayList<>(resources.entrySet());
+            resources.clear();
+        }
+
+        Map<String, Integer> releasedCounts = new LinkedHashMap<>();
+
+        for (Map.Entry<Object, TrackedResource> entry : entries)
+        {
+            TrackedResource tracked = entry.getValue();
+
+            try
+            {
+                tracked.teardown.run();
+            }
+            catch (Exception exception)
+            {
+                LoggerUtils.error("Ошибка освобождения ресурса " + tracked.type + " '" + tracked.description +
+                        "' модуля " + moduleName, exception);
+            }
+
+            releasedCounts.merge(tracked.type, 1, Integer::sum);
+        }
+
+        return releasedCounts;
+    }
+
+    public List<String> collectLeaks()
+    {
+        List<String> leaks = new ArrayList<>();
+
+        synchronized (released)
+        {
+            for (ReleasedResource resource : released)
+            {
+                if (resource.reference.get() != null)
+                {
+                    leaks.add(resource.type + ": " + resource.description);
+                }
+            }
+        }
+
+        return leaks;
+    }
+
+    public void clearWatched()
+    {
+        released.clear();
+    }
+
+    public Map<String, Integer> getTrackedCounts()
+    {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+
+        synchronized (resources)
+        {
+            for (TrackedResource tracked : resources.values())
+            {
+                counts.merge(tracked.type, 1, Integer::sum);
+            }
+        }
+
+        return counts;
+    }
+
+    public int size()
+    {
+        return resources.size();
+    }
+
+    public String getModuleName()
+    {
+        return moduleName;
+    }
+
+    private static final class TrackedResource
+    {
+        private final String type;
+        private final String description;
+        private final Runnable teardown;
+
+        private TrackedResource(String type, String description, Runnable teardown)
+        {
+            this.type = type;
+            this.description = description;
+            this.teardown = teardown;
+        }
+    }
+
+    private static final class ReleasedResource
+    {
+        private final String type;
+        private final String description;
+        private final WeakReference<Object> reference;
+
+        private ReleasedResource(String type, String description, WeakReference<Object> reference)
+        {
+            this.type = type;
+            this.description = description;
+            this.reference = reference;
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package me.darkakyloff.core.modules.core;
 
+import me.darkakyloff.core.api.cache.BoundedCache;
 import me.darkakyloff.core.api.command.CommandManager;
+import me.darkakyloff.core.api.http.HttpResponse;
+import me.darkakyloff.core.managers.HttpServerManager;
 import me.darkakyloff.core.modules.BaseModule;
 import me.darkakyloff.core.modules.core.commands.CoreCommand;
+import me.darkakyloff.core.tasks.TaskStats;
+import me.darkakyloff.core.tasks.TickProfiler;
 import me.darkakyloff.core.utils.LoggerUtils;
 import org.bukkit.event.HandlerList;
 import org.bukkit.plugin.Plugin;
@@ -27,6 +32,8 @@ public class CoreModule extends BaseModule
 
             registerListeners();
 
+            registerEndpoints();
+
             initializeUtilities();
         }
         catch (Exception exception)
@@ -44,6 +51,8 @@ public class CoreModule extends BaseModule
             unregisterCommands();
 
             unregisterListeners();
+
+            unregisterEndpoints();
         }
         catch (Exception exception)
         {
@@ -73,6 +82,58 @@ public class CoreModule extends BaseModule
         HandlerList.unregisterAll(plugin);
     }
 
+    private void registerEndpoints()
+    {
+        HttpServerManager httpServerManager = getCorePlugin().getHttpServerManager();
+
+        if (httpServerManager == null) return;
+
+        httpServerManager.registerEndpoint(this, "/core/tasks", exchange ->
+        {
+            StringBuilder json = new StringBuilder("{\"tasks\":[");
+            boolean first = true;
+
+            for (TaskStats stats : getCorePlugin().getTaskScheduler().getTaskStats())
+            {
+                if (!first) json.append(',');
+                json.append(stats.toJson());
+                first = false;
+            }
+
+            return HttpResponse.json(json.append("]}").toString());
+        });
+
+        httpServerManager.registerEndpoint(this, "/core/ticks", exchange -> HttpResponse.json(TickProfiler.toJson()));
+
+        httpServerManager.registerEndpoint(this, "/core/caches", exchange ->
+        {
+            StringBuilder json = new StringBuilder("{\"caches\":[");
+            boolean first = true;
+
+            for (BoundedCache<?, ?> cache : BoundedCache.getRegisteredCaches())
+            {
+                if (!first) json.append(',');
+                json.append(cache.toJson());
+                first = false;
+            }
+
+            return HttpResponse.json(json.append("]}").toString());
+        });
+
+        httpServerManager.registerEndpoint(this, "/core/modules", exchange ->
+                HttpResponse.json(getCorePlugin().getModuleManager().toJson()));
+    }
+
+    private void unregisterEndpoints()
+    {
+        HttpServerManager httpServerManager = getCorePlugin().getHttpServerManager();
+
+        if (httpServerManager != null)
+        {
+            httpServerManager.unregisterEndpoints(this);
+        }
+    }
+
     private void initializeUtilities()
     {
         LoggerUtils.initialize();
@@ -1,12 +1,26 @@
 package me.darkakyloff.core.modules.core.commands;
 
+import me.darkakyloff.core.api.cache.BoundedCache;
 import me.darkakyloff.core.api.command.BaseCommand;
 import me.darkakyloff.core.api.command.annotations.Command;
 import me.darkakyloff.core.api.command.annotations.TabComplete;
+import me.darkakyloff.core.api.command.annotations.TabCompletes;
 import me.darkakyloff.core.api.message.MessageKeys;
+import me.darkakyloff.core.managers.ModuleInfo;
+import me.darkakyloff.core.managers.ModuleManager;
+import me.darkakyloff.core.managers.ModuleResources;
 import me.darkakyloff.core.modules.BaseModule;
+import me.darkakyloff.core.tasks.AsyncTaskScheduler;
+import me.darkakyloff.core.tasks.TaskStats;
+import me.darkakyloff.core.tasks.TickProfiler;
+import me.darkakyloff.core.utils.JsonUtils;
+import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 public class CoreCommand
 extends BaseCommand
 {
@@ -23,4 +37,221 @@ extends BaseCommand
 
         return true;
     }
+
+    @Command(name = "core", permission = "core.admin", minArgs = 1)
+    @TabCompletes({
+            @TabComplete(argumentIndex = 0, suggestions = {"tasks", "ticks", "caches", "modules"}),
+            @TabComplete(argumentIndex = 1, suggestions = {"reset", "reload", "rescan"})
+    })
+    public boolean handleCoreCommand(CommandSender sender, String label, String[] args)
+    {
+        switch (args[0].toLowerCase())
+        {
+            case "tasks" -> sendTaskStats(sender, args);
+            case "ticks" -> sendTickStats(sender, args);
+            case "caches" -> sendCacheStats(sender, args);
+            case "modules" -> handleModules(sender, args);
+            default -> messageManager.sendMessage(sender, MessageKeys.ERROR_UNKNOWN.getKey());
+        }
+
+        return true;
+    }
+
+    private void sendTaskStats(CommandSender sender, String[] args)
+    {
+        AsyncTaskScheduler scheduler = module.getCorePlugin().getTaskScheduler();
+
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset"))
+        {
+            scheduler.resetTaskStats();
+            messageManager.sendMessage(sender, MessageKeys.CORE_TASKS_RESET.getKey());
+            return;
+        }
+
+        List<TaskStats> stats = scheduler.getTaskStats();
+
+        messageManager.sendMessage(sender, MessageKeys.CORE_TASKS_HEADER.getKey(),
+                "active", scheduler.getActiveTaskCount(),
+                "timer", scheduler.getPendingTimerTaskCount(),
+                "queue", scheduler.getMainThreadQueueSize());
+
+        for (int i = 0; i < Math.min(10, stats.size()); i++)
+        {
+            TaskStats entry = stats.get(i);
+
+            Component problems = entry.getFailureCount() > 0 || entry.getOverrunCount() > 0
+                    ? message(sender, MessageKeys.CORE_TASKS_PROBLEMS, "failures", entry.getFailureCount(), "overruns", entry.getOverrunCount())
+                    : Component.empty();
+
+            messageManager.sendMessage(sender, MessageKeys.CORE_TASKS_ENTRY.getKey(),
+                    "label", entry.getLabel(),
+                    "runs", entry.getRunCount(),
+                    "average", JsonUtils.millis(entry.getAverageNanos()),
+                    "p99", JsonUtils.millis(entry.getPercentileNanos(0.99)),
+                    "max", JsonUtils.millis(entry.getMaxNanos()),
+                    "problems", problems);
+        }
+    }
+
+    private void sendTickStats(CommandSender sender, String[] args)
+    {
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset"))
+        {
+            TickProfiler.reset();
+            messageManager.sendMessage(sender, MessageKeys.CORE_TICKS_RESET.getKey());
+            return;
+        }
+
+        if (!TickProfiler.isEnabled())
+        {
+            messageManager.sendMessage(sender, MessageKeys.CORE_TICKS_DISABLED.getKey());
+            return;
+        }
+
+        messageManager.sendMessage(sender, MessageKeys.CORE_TICKS_HEADER.getKey());
+
+        for (String owner : TickProfiler.getOwners())
+        {
+            messageManager.sendMessage(sender, MessageKeys.CORE_TICKS_OWNER.getKey(), "owner", owner);
+
+            for (TickProfiler.Category category : TickProfiler.Category.values())
+            {
+                long calls = TickProfiler.getCalls(owner, category, 300);
+
+                if (calls == 0) continue;
+
+                StringBuilder timings = new StringBuilder();
+
+                for (int window : TickProfiler.getReportWindows())
+                {
+                    if (timings.length() > 0) timings.append(" / ");
+                    timings.append(String.format(Locale.ROOT, "%.3f", TickProfiler.getMillisPerTick(owner, category, window)));
+                }
+
+                messageManager.sendMessage(sender, MessageKeys.CORE_TICKS_ENTRY.getKey(),
+                        "category", category.getDisplayName(),
+                        "timings", timings.toString(),
+                        "calls", calls);
+            }
+        }
+    }
+
+    private void sendCacheStats(CommandSender sender, String[] args)
+    {
+        List<BoundedCache<?, ?>> caches = BoundedCache.getRegisteredCaches();
+
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset"))
+        {
+            caches.forEach(BoundedCache::resetStats);
+            messageManager.sendMessage(sender, MessageKeys.CORE_CACHES_RESET.getKey());
+            return;
+        }
+
+        messageManager.sendMessage(sender, MessageKeys.CORE_CACHES_HEADER.getKey(), "count", caches.size());
+
+        for (BoundedCache<?, ?> cache : caches)
+        {
+            messageManager.sendMessage(sender, MessageKeys.CORE_CACHES_ENTRY.getKey(),
+                    "name", cache.getName(),
+                    "size", cache.size(),
+                    "max_size", cache.getMaxEntries(),
+                    "weight", cache.getWeight(),
+                    "max_weight", cache.getMaxWeight(),
+                    "hit_rate", String.format(Locale.ROOT, "%.1f", cache.getHitRate() * 100),
+                    "hits", cache.getHitCount(),
+                    "requests", cache.getHitCount() + cache.getMissCount(),
+                    "evictions", cache.getEvictionCount(),
+                    "rejections", cache.getRejectionCount());
+        }
+    }
+
+    private void handleModules(CommandSender sender, String[] args)
+    {
+        ModuleManager moduleManager = module.getCorePlugin().getModuleManager();
+
+        if (args.length > 1 && args[1].equalsIgnoreCase("rescan"))
+        {
+            int changes = moduleManager.rescanModules();
+            messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_RESCANNED.getKey(), "changes", changes);
+            return;
+        }
+
+        if (args.length > 1 && args[1].equalsIgnoreCase("reload"))
+        {
+            if (args.length < 3)
+            {
+                messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_RELOAD_USAGE.getKey());
+                return;
+            }
+
+            if (moduleManager.getModuleInfo(args[2]) == null)
+            {
+                messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_NOT_FOUND.getKey(), "module", args[2]);
+                return;
+            }
+
+            moduleManager.reloadModule(args[2]);
+            messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_RELOADED.getKey(), "module", args[2]);
+            return;
+        }
+
+        sendModuleStats(sender);
+    }
+
+    private void sendModuleStats(CommandSender sender)
+    {
+        ModuleManager moduleManager = module.getCorePlugin().getModuleManager();
+        List<String> moduleNames = moduleManager.getAllModuleNames();
+        moduleNames.sort(String::compareTo);
+
+        messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_HEADER.getKey(), "count", moduleNames.size());
+
+        Component lazyFlag = message(sender, MessageKeys.CORE_MODULES_FLAG_LAZY);
+        Component jarFlag = message(sender, MessageKeys.CORE_MODULES_FLAG_JAR);
+
+        for (String moduleName : moduleNames)
+        {
+            ModuleInfo info = moduleManager.getModuleInfo(moduleName);
+
+            if (info == null) continue;
+
+            ModuleResources resources = moduleManager.getModuleResources(moduleName);
+
+            messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_ENTRY.getKey(),
+                    "module", moduleName,
+                    "state", info.getState().getDisplayName(),
+                    "lazy", moduleManager.isLazy(moduleName) ? lazyFlag : Component.empty(),
+                    "jar", moduleManager.isExternalModule(moduleName) ? jarFlag : Component.empty(),
+                    "load", JsonUtils.millis(info.getLoadDurationNanos()),
+                    "async_load", JsonUtils.millis(info.getAsyncLoadNanos()),
+                    "unload", JsonUtils.millis(info.getUnloadDurationNanos()),
+                    "allocated", info.getLoadAllocatedBytes() / 1024);
+
+            messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_RESOURCES.getKey(),
+                    "commands", resources.commands(),
+                    "placeholders", resources.placeholders(),
+                    "endpoints", resources.endpoints(),
+                    "tasks", resources.tasks(),
+                    "databases", resources.databasePools(),
+                    "tracked", info.getModule().getResources().size());
+
+            if (info.getLastError() != null)
+            {
+                messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_ERROR.getKey(), "error", info.getLastError());
+            }
+        }
+
+        for (Map.Entry<String, List<String>> entry : moduleManager.getLeakReports().entrySet())
+        {
+            messageManager.sendMessage(sender, MessageKeys.CORE_MODULES_LEAK.getKey(),
+                    "module", entry.getKey(),
+                    "objects", String.join(", ", entry.getValue()));
+        }
+    }
+
+    private Component message(CommandSender sender, MessageKeys key, Object... placeholders)
+    {
+        Component component = messageManager.getMessage(sender, key.getKey(), placeholders);
+        return component != null ? component : Component.empty();
+    }
 }
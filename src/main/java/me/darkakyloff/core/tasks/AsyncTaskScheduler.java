@@ -1,64 +1,106 @@
 package me.darkakyloff.core.tasks;
 
 import me.darkakyloff.core.CorePlugin;
-import me.darkakyloff.core.api.config.ConfigurationManager;
+import me.darkakyloff.core.api.config.ConfigBinder;
+import me.darkakyloff.core.api.config.ConfigSnapshot;
+import me.darkakyloff.core.modules.ModuleResourceRegistry;
+import me.darkakyloff.core.utils.JsonUtils;
 import me.darkakyloff.core.utils.LoggerUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class AsyncTaskScheduler
 {
     private final Plugin plugin;
-    private final Map<String, BukkitTask> registeredTasks;
-    private final AtomicInteger taskIdCounter;
-
+    private final Map<Long, TaskHandle> registeredTasks;
+    private final Map<String, TaskHandle> taskLabels;
+    private final Map<String, TaskStats> taskStats;
+    private final AtomicLong taskIdCounter;
+    private final Queue<Runnable> mainThreadQueue;
+    private final Executor mainThreadExecutor;
+
+    private BukkitTask mainThreadDrainTask;
+    private ThreadPoolExecutor asyncExecutor;
+    private HashedWheelTimer timer;
     private boolean isRunning = false;
+    private volatile boolean acceptingMainThreadTasks = false;
 
     private int maxThreads = 8;
-    private int cacheCleanupInterval = 300;
+    private int timerTickMillis = 5;
+    private int timerWheelSize = 512;
     private int healthCheckInterval = 120;
     private int statsCollectionInterval = 600;
+    private volatile long mainThreadBudgetNanos = TimeUnit.MILLISECONDS.toNanos(2);
+    private volatile long syncSlowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(5);
+    private volatile long asyncSlowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(500);
+    private volatile int maxTrackedLabels = 512;
 
     public AsyncTaskScheduler(Plugin plugin)
     {
         this.plugin = plugin;
         this.registeredTasks = new ConcurrentHashMap<>();
-        this.taskIdCounter = new AtomicInteger(0);
+        this.taskLabels = new ConcurrentHashMap<>();
+        this.taskStats = new ConcurrentHashMap<>();
+        this.taskIdCounter = new AtomicLong(0);
+        this.mainThreadQueue = new ConcurrentLinkedQueue<>();
+        this.mainThreadExecutor = runnable ->
+        {
+            if (!offerMainThreadTask(runnable))
+            {
+                throw new RejectedExecutionException("Очередь главного потока не запущена");
+            }
+        };
 
         loadTaskSettings();
 
+        CorePlugin.getInstance().getConfigurationManager()
+                .addChangeListener("settings.yml", "tasks", (previous, current) -> loadTaskSettings());
+
         LoggerUtils.debug("AsyncTaskScheduler инициализирован");
     }
 
     private void loadTaskSettings()
     {
-        try
-        {
-            ConfigurationManager configManager = CorePlugin.getInstance().getConfigurationManager();
-
-
-            maxThreads = configManager.getInt("settings.yml", "tasks.max-threads", 8);
-            cacheCleanupInterval = configManager.getInt("settings.yml", "tasks.system-tasks.cache-cleanup", 300);
-            healthCheckInterval = configManager.getInt("settings.yml", "tasks.system-tasks.health-check", 120);
-            statsCollectionInterval = configManager.getInt("settings.yml", "tasks.system-tasks.stats-collection", 600);
+        TaskSettings settings = CorePlugin.getInstance().getConfigurationManager().get(TaskSettings.KEY);
 
-            LoggerUtils.debug("Настройки планировщика загружены: потоков=" + maxThreads);
-        }
-        catch (Exception exception)
+        if (settings == null)
         {
             LoggerUtils.warning("Ошибка загрузки настроек планировщика, используются дефолтные");
-
-            maxThreads = 8;
-            cacheCleanupInterval = 300;
-            healthCheckInterval = 120;
-            statsCollectionInterval = 600;
+            settings = ConfigBinder.bind(ConfigSnapshot.EMPTY, "tasks", TaskSettings.class);
         }
+
+        maxThreads = settings.maxThreads();
+        timerTickMillis = settings.timerTickMillis();
+        timerWheelSize = settings.timerWheelSize();
+        healthCheckInterval = settings.healthCheckInterval();
+        statsCollectionInterval = settings.statsCollectionInterval();
+        mainThreadBudgetNanos = TimeUnit.MICROSECONDS.toNanos(settings.mainThreadBudgetMicros());
+        syncSlowThresholdNanos = TimeUnit.MICROSECONDS.toNanos(settings.syncSlowThresholdMicros());
+        asyncSlowThresholdNanos = TimeUnit.MICROSECONDS.toNanos(settings.asyncSlowThresholdMicros());
+        maxTrackedLabels = settings.maxTrackedLabels();
+        TickProfiler.setEnabled(settings.profilerEnabled());
+
+        LoggerUtils.debug("Настройки планировщика загружены: потоков=" + maxThreads);
     }
 
     public void startTasks()
@@ -71,33 +113,83 @@ public class AsyncTaskScheduler
 
         LoggerUtils.debug("Запуск планировщика задач...");
 
-        startSystemTasks();
+        AtomicInteger workerCounter = new AtomicInteger(0);
+
+        asyncExecutor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable ->
+        {
+            Thread thread = new Thread(runnable, "Core-Async-Worker-" + workerCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        asyncExecutor.allowCoreThreadTimeOut(true);
+
+        timer = new HashedWheelTimer("Core-Timer", timerTickMillis, TimeUnit.MILLISECONDS, timerWheelSize, asyncExecutor,
+                this::handleRejectedTimerTask);
+
+        mainThreadDrainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drainMainThreadQueue, 1L, 1L);
+        acceptingMainThreadTasks = true;
 
         isRunning = true;
-        LoggerUtils.debug("Планировщик задач запущен");
+
+        startSystemTasks();
+
+        LoggerUtils.debug("Планировщик задач запущен: потоков=" + maxThreads + ", шаг таймера=" + timerTickMillis + "мс");
     }
 
     public void stopTasks()
     {
         if (!isRunning) return;
 
-
         LoggerUtils.debug("Остановка планировщика задач...");
 
-        for (Map.Entry<String, BukkitTask> entry : registeredTasks.entrySet())
+        for (TaskHandle task : new ArrayList<>(registeredTasks.values()))
         {
-            String taskName = entry.getKey();
-            BukkitTask task = entry.getValue();
-
-            if (task != null && !task.isCancelled())
+            if (task.cancel())
             {
-                task.cancel();
-
-                LoggerUtils.debug("Задача отменена: " + taskName);
+                LoggerUtils.debug("Задача отменена: " + task);
             }
         }
 
         registeredTasks.clear();
+        taskLabels.clear();
+
+        if (timer != null)
+        {
+            int dropped = timer.stop();
+
+            if (dropped > 0)
+            {
+                LoggerUtils.debug("Отброшено отложенных задач таймера: " + dropped);
+            }
+
+            timer = null;
+        }
+
+        if (asyncExecutor != null)
+        {
+            asyncExecutor.shutdown();
+            asyncExecutor = null;
+        }
+
+        acceptingMainThreadTasks = false;
+
+        if (mainThreadDrainTask != null)
+        {
+            mainThreadDrainTask.cancel();
+            mainThreadDrainTask = null;
+        }
+
+        if (Bukkit.isPrimaryThread())
+        {
+            drainMainThreadQueue(Long.MAX_VALUE);
+        }
+        else if (!mainThreadQueue.isEmpty())
+        {
+            LoggerUtils.warning("Отброшено задач главного потока при остановке: " + mainThreadQueue.size());
+        }
+
+        mainThreadQueue.clear();
         isRunning = false;
 
         LoggerUtils.debug("Планировщик задач остановлен");
@@ -105,54 +197,170 @@ public class AsyncTaskScheduler
 
     private void startSystemTasks()
     {
-        scheduleRepeating("cache-cleanup", () ->
-        {
-            LoggerUtils.debug("Выполнена очистка кешей");
-        }, 20L * 60 * 5, 20L * cacheCleanupInterval);
-
         scheduleRepeating("health-check", () ->
         {
+            runHealthCheck();
             LoggerUtils.debug("Выполнена проверка состояния системы");
         }, 20L * 30, 20L * healthCheckInterval);
 
         scheduleRepeating("stats-collection", () ->
         {
+            collectTaskStats();
             LoggerUtils.debug("Выполнен сбор статистики");
         }, 20L * 60, 20L * statsCollectionInterval);
 
         LoggerUtils.debug("Системные задачи запущены");
     }
 
-    public String scheduleAsync(String taskName, Runnable runnable, long delay)
+    private void runHealthCheck()
     {
-        if (!isRunning) return null;
+        int mainThreadBacklog = mainThreadQueue.size();
+        int asyncBacklog = getAsyncQueueSize();
 
-        try
+        if (mainThreadBacklog > 1000)
+        {
+            LoggerUtils.warning("Очередь задач главного потока растет: " + mainThreadBacklog);
+        }
+
+        if (asyncBacklog > maxThreads * 100)
+        {
+            LoggerUtils.warning("Очередь асинхронных задач растет: " + asyncBacklog + " (потоков: " + maxThreads + ")");
+        }
+    }
+
+    private void collectTaskStats()
+    {
+        List<TaskStats> stats = getTaskStats();
+
+        for (int i = 0; i < Math.min(5, stats.size()); i++)
+        {
+            TaskStats entry = stats.get(i);
+
+            LoggerUtils.debug("Задача " + entry.getLabel() + ": запусков=" + entry.getRunCount() +
+                    ", всего=" + JsonUtils.millis(entry.getTotalNanos()) + "мс" +
+                    ", p99=" + JsonUtils.millis(entry.getPercentileNanos(0.99)) + "мс" +
+                    ", ошибок=" + entry.getFailureCount() + ", переполнений=" + entry.getOverrunCount());
+        }
+    }
+
+    public List<TaskStats> getTaskStats()
+    {
+        List<TaskStats> stats = new ArrayList<>(taskStats.values());
+        stats.sort(Comparator.comparingLong(TaskStats::getTotalNanos).reversed());
+        return stats;
+    }
+
+    public void resetTaskStats()
+    {
+        for (TaskStats stats : taskStats.values())
+        {
+            stats.reset();
+        }
+    }
+
+    private TaskStats statsFor(String label, boolean sync)
+    {
+        String key = (label != null ? label : "unnamed") + (sync ? " [sync]" : "");
+        TaskStats stats = taskStats.get(key);
+
+        if (stats != null) return stats;
+
+        if (taskStats.size() >= maxTrackedLabels)
+        {
+            key = sync ? "other [sync]" : "other";
+        }
+
+        String statsLabel = key;
+        return taskStats.computeIfAbsent(statsLabel, k -> new TaskStats(statsLabel, sync));
+    }
+
+    private void recordRun(TaskHandle task, long nanos, boolean failed, long periodNanos)
+    {
+        TaskStats stats = task.getStats();
+        long threshold = stats.isSync() ? syncSlowThresholdNanos : asyncSlowThresholdNanos;
+
+        if (stats.record(nanos, failed, periodNanos, threshold))
         {
-            String uniqueTaskName = generateUniqueTaskName(taskName);
+            LoggerUtils.warning("Медленная задача " + task + ": " + JsonUtils.millis(nanos) + "мс" +
+                    " (всего медленных запусков: " + stats.getSlowCount() + ")");
+        }
+    }
+
+    public boolean runOnMainThread(Runnable runnable)
+    {
+        if (offerMainThreadTask(runnable)) return true;
+
+        LoggerUtils.warning("Задача главного потока отклонена: планировщик не запущен");
+        return false;
+    }
+
+    private boolean offerMainThreadTask(Runnable runnable)
+    {
+        if (!acceptingMainThreadTasks) return false;
+
+        return mainThreadQueue.offer(ModuleResourceRegistry.bindToCurrentOwner(runnable));
+    }
 
-            BukkitTask task = Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () ->
+    public Executor getMainThreadExecutor()
+    {
+        return mainThreadExecutor;
+    }
+
+    public <T> CompletableFuture<Void> thenAcceptSync(CompletableFuture<T> future, Consumer<? super T> action)
+    {
+        return future.thenAcceptAsync(action, mainThreadExecutor);
+    }
+
+    public int getMainThreadQueueSize()
+    {
+        return mainThreadQueue.size();
+    }
+
+    private void drainMainThreadQueue()
+    {
+        drainMainThreadQueue(mainThreadBudgetNanos);
+    }
+
+    private void drainMainThreadQueue(long budgetNanos)
+    {
+        long start = System.nanoTime();
+        Runnable runnable;
+
+        while ((runnable = mainThreadQueue.poll()) != null)
+        {
+            try
             {
-                try
-                {
-                    runnable.run();
+                runnable.run();
+            }
+            catch (Exception exception)
+            {
+                LoggerUtils.error("Ошибка выполнения задачи главного потока", exception);
+            }
 
-                    LoggerUtils.debug("Задача выполнена: " + uniqueTaskName);
-                }
-                catch (Exception exception)
-                {
-                    LoggerUtils.error("Ошибка выполнения задачи: " + uniqueTaskName, exception);
-                }
-                finally
-                {
-                    registeredTasks.remove(uniqueTaskName);
-                }
-            }, delay);
+            if (System.nanoTime() - start >= budgetNanos)
+            {
+                break;
+            }
+        }
+    }
+
+    public TaskHandle scheduleAsync(String taskName, Runnable runnable, long delay)
+    {
+        return scheduleAsync(taskName, runnable, delay * 50L, TimeUnit.MILLISECONDS);
+    }
 
-            registeredTasks.put(uniqueTaskName, task);
+    public TaskHandle scheduleAsync(String taskName, Runnable runnable, long delay, TimeUnit unit)
+    {
+        if (!isRunning) return null;
 
-            LoggerUtils.debug("Асинхронная задача запланирована: " + uniqueTaskName + " (задержка: " + delay + " тиков)");
-            return uniqueTaskName;
+        try
+        {
+            WheelTask task = new WheelTask(taskIdCounter.incrementAndGet(), taskName, runnable, 0L, statsFor(taskName, false));
+            task.schedule(unit.toNanos(delay));
+            registerScheduled(task);
+
+            LoggerUtils.debug("Асинхронная задача запланирована: " + task + " (задержка: " + unit.toMillis(delay) + " мс)");
+            return task;
         }
         catch (Exception exception)
         {
@@ -161,32 +369,25 @@ public class AsyncTaskScheduler
         }
     }
 
-    public String scheduleRepeating(String taskName, Runnable runnable, long delay, long period)
+    public TaskHandle scheduleRepeating(String taskName, Runnable runnable, long delay, long period)
+    {
+        return scheduleRepeating(taskName, runnable, delay * 50L, period * 50L, TimeUnit.MILLISECONDS);
+    }
+
+    public TaskHandle scheduleRepeating(String taskName, Runnable runnable, long delay, long period, TimeUnit unit)
     {
         if (!isRunning) return null;
 
         try
         {
-            String uniqueTaskName = generateUniqueTaskName(taskName);
-
-            BukkitTask task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () ->
-            {
-                try
-                {
-                    runnable.run();
-                    LoggerUtils.debug("Повторяющаяся задача выполнена: " + uniqueTaskName);
-                }
-                catch (Exception exception)
-                {
-                    LoggerUtils.error("Ошибка выполнения повторяющейся задачи: " + uniqueTaskName, exception);
-                }
-            }, delay, period);
-
-            registeredTasks.put(uniqueTaskName, task);
-
-            LoggerUtils.debug("Повторяющаяся задача запланирована: " + uniqueTaskName +
-                    " (задержка: " + delay + ", период: " + period + " тиков)");
-            return uniqueTaskName;
+            WheelTask task = new WheelTask(taskIdCounter.incrementAndGet(), taskName, runnable, Math.max(1L, unit.toNanos(period)),
+                    statsFor(taskName, false));
+            task.schedule(unit.toNanos(delay));
+            registerScheduled(task);
+
+            LoggerUtils.debug("Повторяющаяся задача запланирована: " + task +
+                    " (задержка: " + unit.toMillis(delay) + ", период: " + unit.toMillis(period) + " мс)");
+            return task;
         }
         catch (Exception exception)
         {
@@ -195,36 +396,51 @@ public class AsyncTaskScheduler
         }
     }
 
-    public String scheduleSync(String taskName, Runnable runnable, long delay)
+    public TaskHandle scheduleSync(String taskName, Runnable runnable, long delay)
     {
         if (!isRunning) return null;
 
         try
         {
-            String uniqueTaskName = generateUniqueTaskName(taskName);
+            SyncTask task = new SyncTask(this, taskIdCounter.incrementAndGet(), taskName, false, statsFor(taskName, true),
+                    ModuleResourceRegistry.getCurrentOwner());
+            register(task);
 
-            BukkitTask task = Bukkit.getScheduler().runTaskLater(plugin, () ->
+            task.setNextRunNanos(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay * 50L));
+            task.bukkitTask = Bukkit.getScheduler().runTaskLater(plugin, () ->
             {
+                if (task.isCancelled()) return;
+
+                String previousOwner = TickProfiler.enter(task.getOwner());
+                String previousContext = ModuleResourceRegistry.enter(task.getOwner());
+                long start = System.nanoTime();
+                boolean failed = false;
+
                 try
                 {
                     runnable.run();
 
-                    LoggerUtils.debug("Синхронная задача выполнена: " + uniqueTaskName);
+                    LoggerUtils.debug("Синхронная задача выполнена: " + task);
                 }
                 catch (Exception exception)
                 {
-                    LoggerUtils.error("Ошибка выполнения синхронной задачи: " + uniqueTaskName, exception);
+                    failed = true;
+                    LoggerUtils.error("Ошибка выполнения синхронной задачи: " + task, exception);
                 }
                 finally
                 {
-                    registeredTasks.remove(uniqueTaskName);
+                    long end = System.nanoTime();
+
+                    recordRun(task, end - start, failed, 0L);
+                    TickProfiler.record(task.getOwner(), TickProfiler.Category.SYNC_TASK, end, end - start);
+                    ModuleResourceRegistry.exit(previousContext);
+                    TickProfiler.exit(previousOwner);
+                    task.markCompleted();
                 }
             }, delay);
 
-            registeredTasks.put(uniqueTaskName, task);
-
-            LoggerUtils.debug("Синхронная задача запланирована: " + uniqueTaskName + " (задержка: " + delay + " тиков)");
-            return uniqueTaskName;
+            LoggerUtils.debug("Синхронная задача запланирована: " + task + " (задержка: " + delay + " тиков)");
+            return task;
         }
         catch (Exception exception)
         {
@@ -233,32 +449,54 @@ public class AsyncTaskScheduler
         }
     }
 
-    public String scheduleSyncRepeating(String taskName, Runnable runnable, long delay, long period)
+    public TaskHandle scheduleSyncRepeating(String taskName, Runnable runnable, long delay, long period)
     {
         if (!isRunning) return null;
 
         try
         {
-            String uniqueTaskName = generateUniqueTaskName(taskName);
+            SyncTask task = new SyncTask(this, taskIdCounter.incrementAndGet(), taskName, true, statsFor(taskName, true),
+                    ModuleResourceRegistry.getCurrentOwner());
+            register(task);
 
-            BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, () ->
+            long periodNanos = TimeUnit.MILLISECONDS.toNanos(period * 50L);
+
+            task.setNextRunNanos(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay * 50L));
+            task.bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, () ->
             {
+                if (task.isCancelled()) return;
+
+                String previousOwner = TickProfiler.enter(task.getOwner());
+                String previousContext = ModuleResourceRegistry.enter(task.getOwner());
+                long start = System.nanoTime();
+                boolean failed = false;
+
+                task.setNextRunNanos(start + periodNanos);
+
                 try
                 {
                     runnable.run();
-                    LoggerUtils.debug("Повторяющаяся синхронная задача выполнена: " + uniqueTaskName);
+                    LoggerUtils.debug("Повторяющаяся синхронная задача выполнена: " + task);
                 }
                 catch (Exception exception)
                 {
-                    LoggerUtils.error("Ошибка выполнения повторяющейся синхронной задачи: " + uniqueTaskName, exception);
+                    failed = true;
+                    LoggerUtils.error("Ошибка выполнения повторяющейся синхронной задачи: " + task, exception);
                 }
-            }, delay, period);
+                finally
+                {
+                    long end = System.nanoTime();
 
-            registeredTasks.put(uniqueTaskName, task);
+                    recordRun(task, end - start, failed, periodNanos);
+                    TickProfiler.record(task.getOwner(), TickProfiler.Category.SYNC_TASK, end, end - start);
+                    ModuleResourceRegistry.exit(previousContext);
+                    TickProfiler.exit(previousOwner);
+                }
+            }, delay, period);
 
-            LoggerUtils.debug("Повторяющаяся синхронная задача запланирована: " + uniqueTaskName +
+            LoggerUtils.debug("Повторяющаяся синхронная задача запланирована: " + task +
                     " (задержка: " + delay + ", период: " + period + " тиков)");
-            return uniqueTaskName;
+            return task;
         }
         catch (Exception exception)
         {
@@ -267,9 +505,17 @@ public class AsyncTaskScheduler
         }
     }
 
+    public boolean cancelTask(TaskHandle task)
+    {
+        if (task == null || !task.cancel()) return false;
+
+        LoggerUtils.debug("Задача отменена: " + task);
+        return true;
+    }
+
     public boolean cancelTask(String taskName)
     {
-        BukkitTask task = registeredTasks.get(taskName);
+        TaskHandle task = taskLabels.get(taskName);
 
         if (task == null)
         {
@@ -277,54 +523,122 @@ public class AsyncTaskScheduler
             return false;
         }
 
-        if (task.isCancelled())
+        try
         {
-            LoggerUtils.warning("Задача уже отменена: " + taskName);
-            registeredTasks.remove(taskName);
+            return cancelTask(task);
+        }
+        catch (Exception exception)
+        {
+            LoggerUtils.error("Ошибка отмены задачи: " + taskName, exception);
             return false;
         }
+    }
 
-        try
+    public int cancelTasks(String owner)
+    {
+        if (owner == null) return 0;
+
+        int cancelled = 0;
+
+        for (TaskHandle task : List.copyOf(registeredTasks.values()))
         {
-            task.cancel();
-            registeredTasks.remove(taskName);
+            if (owner.equals(task.getOwner()) && task.cancel())
+            {
+                cancelled++;
+            }
+        }
 
-            LoggerUtils.debug("Задача отменена: " + taskName);
-            return true;
+        if (cancelled > 0)
+        {
+            LoggerUtils.debug("Отменено задач модуля " + owner + ": " + cancelled);
         }
-        catch (Exception exception)
+
+        return cancelled;
+    }
+
+    public int getTaskCount(String owner)
+    {
+        int count = 0;
+
+        for (TaskHandle task : registeredTasks.values())
         {
-            LoggerUtils.error("Ошибка отмены задачи: " + taskName, exception);
-            return false;
+            if (owner.equals(task.getOwner())) count++;
         }
+
+        return count;
+    }
+
+    public TaskHandle getTask(String taskName)
+    {
+        return taskLabels.get(taskName);
     }
 
     public boolean hasTask(String taskName)
     {
-        return registeredTasks.containsKey(taskName);
+        return taskLabels.containsKey(taskName);
     }
 
     public boolean isTaskActive(String taskName)
     {
-        BukkitTask task = registeredTasks.get(taskName);
-        return task != null && !task.isCancelled();
+        TaskHandle task = taskLabels.get(taskName);
+        return task != null && task.isActive();
     }
 
     public int getActiveTaskCount()
     {
-        return (int) registeredTasks.values().stream()
-                .filter(task -> task != null && !task.isCancelled())
-                .count();
+        return registeredTasks.size();
     }
 
-    public java.util.Set<String> getActiveTaskNames()
+    public Set<String> getActiveTaskNames()
     {
-        return registeredTasks.entrySet().stream()
-                .filter(entry -> entry.getValue() != null && !entry.getValue().isCancelled())
-                .map(Map.Entry::getKey)
+        return registeredTasks.values().stream()
+                .map(TaskHandle::toString)
                 .collect(java.util.stream.Collectors.toSet());
     }
 
+    private void register(TaskHandle task)
+    {
+        registeredTasks.put(task.getId(), task);
+
+        if (task.getLabel() != null)
+        {
+            taskLabels.put(task.getLabel(), task);
+        }
+
+        ModuleResourceRegistry.trackOwned(task.getOwner(), "task", task.toString(), task, task::cancel);
+    }
+
+    private void registerScheduled(TaskHandle task)
+    {
+        register(task);
+
+        if (!task.isActive())
+        {
+            unregister(task);
+        }
+    }
+
+    private void handleRejectedTimerTask(Runnable runnable)
+    {
+        if (runnable instanceof WheelTask)
+        {
+            LoggerUtils.warning("Задача снята после отказа пула потоков: " + runnable);
+            ((WheelTask) runnable).markCompleted();
+        }
+    }
+
+    void unregister(TaskHandle task)
+    {
+        registeredTasks.remove(task.getId(), task);
+
+        if (task.getLabel() != null)
+        {
+            taskLabels.remove(task.getLabel(), task);
+        }
+
+        ModuleResourceRegistry.untrackOwned(task.getOwner(), task);
+    }
+
     public BukkitRunnable createRunnable(Runnable runnable)
     {
         return new BukkitRunnable()
@@ -337,21 +651,154 @@ public class AsyncTaskScheduler
         };
     }
 
-    private String generateUniqueTaskName(String baseName)
+    public boolean isRunning()
+    {
+        return isRunning;
+    }
+
+    public long getPendingTimerTaskCount()
+    {
+        HashedWheelTimer currentTimer = timer;
+        return currentTimer != null ? currentTimer.getPendingCount() : 0;
+    }
+
+    public int getAsyncQueueSize()
+    {
+        ThreadPoolExecutor executor = asyncExecutor;
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    private static final class SyncTask extends TaskHandle
     {
-        String uniqueName = baseName;
-        int counter = 1;
+        private volatile BukkitTask bukkitTask;
 
-        while (registeredTasks.containsKey(uniqueName))
+        private SyncTask(AsyncTaskScheduler scheduler, long id, String label, boolean repeating, TaskStats stats, String owner)
         {
-            uniqueName = baseName + "-" + counter++;
+            super(scheduler, id, label, repeating, stats, owner);
         }
 
-        return uniqueName;
+        @Override
+        void cancelInternal()
+        {
+            BukkitTask task = bukkitTask;
+
+            if (task != null)
+            {
+                task.cancel();
+            }
+        }
     }
 
-    public boolean isRunning()
+    private final class WheelTask extends TaskHandle implements Runnable
     {
-        return isRunning;
+        private final Runnable runnable;
+        private final long periodNanos;
+
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private WheelTask(long id, String label, Runnable runnable, long periodNanos, TaskStats stats)
+        {
+            super(AsyncTaskScheduler.this, id, label, periodNanos > 0, stats, ModuleResourceRegistry.getCurrentOwner());
+            this.runnable = runnable;
+            this.periodNanos = periodNanos;
+        }
+
+        private void schedule(long delayNanos)
+        {
+            HashedWheelTimer currentTimer = timer;
+
+            if (currentTimer == null)
+            {
+                throw new IllegalStateException("Таймер остановлен");
+            }
+
+            setNextRunNanos(System.nanoTime() + Math.max(0, delayNanos));
+            timeout = currentTimer.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run()
+        {
+            if (isCancelled()) return;
+
+            long start = System.nanoTime();
+            boolean failed = false;
+            String previousContext = ModuleResourceRegistry.enter(getOwner());
+
+            try
+            {
+                runnable.run();
+
+                LoggerUtils.debug((periodNanos > 0 ? "Повторяющаяся задача выполнена: " : "Задача выполнена: ") + this);
+            }
+            catch (Exception exception)
+            {
+                failed = true;
+                LoggerUtils.error((periodNanos > 0 ? "Ошибка выполнения повторяющейся задачи: " : "Ошибка выполнения задачи: ") + this, exception);
+            }
+            finally
+            {
+                ModuleResourceRegistry.exit(previousContext);
+                recordRun(this, System.nanoTime() - start, failed, periodNanos);
+
+                if (periodNanos <= 0)
+                {
+                    markCompleted();
+                }
+                else
+                {
+                    reschedule();
+                }
+            }
+        }
+
+        private void reschedule()
+        {
+            HashedWheelTimer currentTimer = timer;
+
+            if (isCancelled()) return;
+
+            if (currentTimer == null || !currentTimer.isRunning())
+            {
+                markCompleted();
+                return;
+            }
+
+            long now = System.nanoTime();
+            long nextRunNanos = getNextRunNanos() + periodNanos;
+
+            if (nextRunNanos < now - periodNanos)
+            {
+                nextRunNanos = now;
+            }
+
+            setNextRunNanos(nextRunNanos);
+
+            try
+            {
+                timeout = currentTimer.schedule(this, Math.max(0, nextRunNanos - now), TimeUnit.NANOSECONDS);
+            }
+            catch (IllegalStateException exception)
+            {
+                markCompleted();
+                return;
+            }
+
+            if (isCancelled())
+            {
+                timeout.cancel();
+            }
+        }
+
+        @Override
+        void cancelInternal()
+        {
+            HashedWheelTimer.Timeout currentTimeout = timeout;
+
+            if (currentTimeout != null)
+            {
+                currentTimeout.cancel();
+            }
+        }
     }
-}
\ No newline at end of file
+}
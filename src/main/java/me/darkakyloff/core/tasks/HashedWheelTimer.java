@@ -0,0 +1,345 @@
+package me.darkakyloff.core.tasks;
+
+import me.darkakyloff.core.utils.LoggerUtils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+public class HashedWheelTimer
+{
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final Consumer<Runnable> rejectionHandler;
+    private final Queue<Timeout> pendingTimeouts;
+    private final Queue<Timeout> cancelledTimeouts;
+    private final AtomicLong pendingCount;
+    private final long startTime;
+    private final Thread workerThread;
+
+    private volatile boolean running = true;
+    private long tick = 0;
+
+    public HashedWheelTimer(String threadName, long tickDuration, TimeUnit unit, int wheelSize, Executor executor)
+    {
+        this(threadName, tickDuration, unit, wheelSize, executor, null);
+    }
+
+    public HashedWheelTimer(String threadName, long tickDuration, TimeUnit unit, int wheelSize, Executor executor,
+                            Consumer<Runnable> rejectionHandler)
+    {
+        this.tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), unit.toNanos(tickDuration));
+        this.wheel = createWheel(wheelSize);
+        this.mask = wheel.length - 1;
+        this.executor = executor;
+        this.rejectionHandler = rejectionHandler;
+        this.pendingTimeouts = new ConcurrentLinkedQueue<>();
+        this.cancelledTimeouts = new ConcurrentLinkedQueue<>();
+        this.pendingCount = new AtomicLong(0);
+        this.startTime = System.nanoTime();
+
+        this.workerThread = new Thread(this::runWorker, threadName);
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    private static Bucket[] createWheel(int wheelSize)
+    {
+        int normalized = Integer.highestOneBit(Math.max(2, Math.min(wheelSize, 1 << 20)) * 2 - 1);
+
+        Bucket[] buckets = new Bucket[normalized];
+
+        for (int i = 0; i < buckets.length; i++)
+        {
+            buckets[i] = new Bucket();
+        }
+
+        return buckets;
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit)
+    {
+        if (!running)
+        {
+            throw new IllegalStateException("Таймер остановлен");
+        }
+
+        long deadline = System.nanoTime() + Math.max(0, unit.toNanos(delay)) - startTime;
+
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+
+        return timeout;
+    }
+
+    public int stop()
+    {
+        if (!running) return 0;
+
+        running = false;
+        LockSupport.unpark(workerThread);
+
+        try
+        {
+            workerThread.join(1000);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        int dropped = (int) pendingCount.getAndSet(0);
+
+        pendingTimeouts.clear();
+        cancelledTimeouts.clear();
+
+        return dropped;
+    }
+
+    public long getPendingCount()
+    {
+        return pendingCount.get();
+    }
+
+    public long getTickDuration(TimeUnit unit)
+    {
+        return unit.convert(tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    private void runWorker()
+    {
+        while (running)
+        {
+            long deadline = waitForNextTick();
+
+            if (deadline < 0) break;
+
+            processCancelled();
+            transferPending();
+
+            wheel[(int) (tick & mask)].expire(deadline);
+
+            tick++;
+        }
+    }
+
+    private long waitForNextTick()
+    {
+        long deadline = tickNanos * (tick + 1);
+
+        while (true)
+        {
+            long current = System.nanoTime() - startTime;
+            long sleepNanos = deadline - current;
+
+            if (sleepNanos <= 0) return current;
+
+            LockSupport.parkNanos(this, sleepNanos);
+
+            if (!running) return -1;
+        }
+    }
+
+    private void transferPending()
+    {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++)
+        {
+            Timeout timeout = pendingTimeouts.poll();
+
+            if (timeout == null) return;
+
+            if (timeout.state.get() != STATE_PENDING) continue;
+
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processCancelled()
+    {
+        Timeout timeout;
+
+        while ((timeout = cancelledTimeouts.poll()) != null)
+        {
+            if (timeout.bucket != null)
+            {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void dispatch(Timeout timeout)
+    {
+        if (!timeout.state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) return;
+
+        pendingCount.decrementAndGet();
+
+        try
+        {
+            executor.execute(timeout.task);
+        }
+        catch (RejectedExecutionException exception)
+        {
+            timeout.state.set(STATE_CANCELLED);
+            LoggerUtils.warning("Пул потоков отклонил задачу таймера");
+
+            if (rejectionHandler != null)
+            {
+                rejectionHandler.accept(timeout.task);
+            }
+        }
+    }
+
+    public static final class Timeout
+    {
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline)
+        {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public boolean cancel()
+        {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) return false;
+
+            timer.pendingCount.decrementAndGet();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled()
+        {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired()
+        {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        public long getDeadlineNanos()
+        {
+            return timer.startTime + deadline;
+        }
+    }
+
+    private static final class Bucket
+    {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout)
+        {
+            timeout.bucket = this;
+
+            if (head == null)
+            {
+                head = tail = timeout;
+            }
+            else
+            {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long deadline)
+        {
+            Timeout timeout = head;
+
+            while (timeout != null)
+            {
+                Timeout next = timeout.next;
+
+                if (timeout.state.get() != STATE_PENDING)
+                {
+                    remove(timeout);
+                }
+                else if (timeout.remainingRounds <= 0)
+                {
+                    remove(timeout);
+
+                    if (timeout.deadline <= deadline)
+                    {
+                        timeout.timer.dispatch(timeout);
+                    }
+                    else
+                    {
+                        timeout.timer.wheel[(int) ((timeout.timer.tick + 1) & timeout.timer.mask)].add(timeout);
+                    }
+                }
+                else
+                {
+                    timeout.remainingRounds--;
+                }
+
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout)
+        {
+            if (timeout.bucket != this) return;
+
+            Timeout next = timeout.next;
+
+            if (timeout.prev != null) timeout.prev.next = next;
+            if (next != null) next.prev = timeout.prev;
+
+            if (timeout == head)
+            {
+                if (timeout == tail)
+                {
+                    head = tail = null;
+                }
+                else
+                {
+                    head = next;
+                }
+            }
+            else if (timeout == tail)
+            {
+                tail = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package me.darkakyloff.core.tasks;
+
+import me.darkakyloff.core.utils.JsonUtils;
+import me.darkakyloff.core.utils.LoggerUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class StartupTracer
+{
+    private static final long DEFERRED_TIMEOUT_SECONDS = 60;
+
+    private static final List<Span> spans = new CopyOnWriteArrayList<>();
+    private static final List<CompletableFuture<Void>> deferred = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean active = false;
+    private static volatile long originNanos = 0;
+    private static volatile long criticalPathNanos = 0;
+
+    public static void begin()
+    {
+        spans.clear();
+        deferred.clear();
+        originNanos = System.nanoTime();
+        criticalPathNanos = 0;
+        active = true;
+    }
+
+    public static boolean isActive()
+    {
+        return active;
+    }
+
+    public static void trace(String phase, Runnable runnable)
+    {
+        trace(phase, () ->
+        {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public static <T> T trace(String phase, Supplier<T> supplier)
+    {
+        long startTime = System.nanoTime();
+
+        try
+        {
+            return supplier.get();
+        }
+        finally
+        {
+            record(phase, startTime, System.nanoTime(), false);
+        }
+    }
+
+    public static CompletableFuture<Void> defer(String phase, Runnable runnable)
+    {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Thread thread = new Thread(() ->
+        {
+            long startTime = System.nanoTime();
+
+            try
+            {
+                runnable.run();
+            }
+            catch (Exception exception)
+            {
+                LoggerUtils.error("Ошибка отложенной фазы запуска: " + phase, exception);
+            }
+            finally
+            {
+                record(phase, startTime, System.nanoTime(), true);
+                future.complete(null);
+            }
+        }, "Core-Startup-" + phase);
+
+        thread.setDaemon(true);
+
+        if (active) deferred.add(future);
+
+        thread.start();
+        return future;
+    }
+
+    public static CompletableFuture<Void> defer(String phase, CompletableFuture<?> completion)
+    {
+        long startTime = System.nanoTime();
+
+        CompletableFuture<Void> future = completion.handle((result, throwable) ->
+        {
+            if (throwable == null) record(phase, startTime, System.nanoTime(), true);
+            return null;
+        });
+
+        if (active) deferred.add(future);
+
+        return future;
+    }
+
+    public static void record(String phase, long startNanos, long endNanos)
+    {
+        record(phase, startNanos, endNanos, false);
+    }
+
+    private static void record(String phase, long startNanos, long endNanos, boolean isDeferred)
+    {
+        if (!active) return;
+
+        Thread thread = Thread.currentThread();
+        spans.add(new Span(phase, startNanos, endNanos - startNanos, thread.threadId(), thread.getName(), isDeferred));
+    }
+
+    public static void finish(File traceFile)
+    {
+        if (!active) return;
+
+        criticalPathNanos = System.nanoTime() - originNanos;
+
+        logTable("Запуск Core: " + JsonUtils.millis(criticalPathNanos) + " мс", false);
+
+        CompletableFuture.allOf(deferred.toArray(new CompletableFuture[0]))
+                .orTimeout(DEFERRED_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenComplete((result, throwable) ->
+                {
+                    if (throwable != null)
+                    {
+                        LoggerUtils.warning("Отложенные фазы запуска не завершились за " + DEFERRED_TIMEOUT_SECONDS + " с");
+                    }
+
+                    if (!deferred.isEmpty())
+                    {
+                        logTable("Отложенные фазы запуска завершены", true);
+                    }
+
+                    writeTrace(traceFile);
+                    active = false;
+                });
+    }
+
+    public static boolean awaitDeferred(long timeoutMillis)
+    {
+        try
+        {
+            CompletableFuture.allOf(deferred.toArray(new CompletableFuture[0])).get(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS);
+            return true;
+        }
+        catch (Exception exception)
+        {
+            return false;
+        }
+    }
+
+    public static List<Span> getSpans()
+    {
+        List<Span> result = new ArrayList<>(spans);
+        result.sort(Comparator.comparingLong(Span::startNanos));
+        return result;
+    }
+
+    public static String toJson()
+    {
+        long origin = originNanos;
+        List<Span> sorted = getSpans();
+        Map<Long, String> threads = new LinkedHashMap<>();
+
+        StringBuilder json = new StringBuilder("{\"traceEvents\":[");
+
+        for (int i = 0; i < sorted.size(); i++)
+        {
+            Span span = sorted.get(i);
+            threads.putIfAbsent(span.threadId(), span.threadName());
+
+            if (i > 0) json.append(',');
+            json.append("{\"name\":").append(JsonUtils.quote(span.phase()))
+                    .append(",\"cat\":").append(JsonUtils.quote(span.deferred() ? "deferred" : "startup"))
+                    .append(",\"ph\":\"X\",\"pid\":1,\"tid\":").append(span.threadId())
+                    .append(",\"ts\":").append(micros(span.startNanos() - origin))
+                    .append(",\"dur\":").append(micros(span.durationNanos()))
+                    .append(",\"args\":{\"thread\":").append(JsonUtils.quote(span.threadName()))
+                    .append(",\"durationNanos\":").append(span.durationNanos())
+                    .append(",\"deferred\":").append(span.deferred()).append("}}");
+        }
+
+        for (Map.Entry<Long, String> entry : threads.entrySet())
+        {
+            if (!sorted.isEmpty()) json.append(',');
+            json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(entry.getKey())
+                    .append(",\"args\":{\"name\":").append(JsonUtils.quote(entry.getValue())).append("}}");
+        }
+
+        return json.append("],\"displayTimeUnit\":\"ms\",\"otherData\":{\"criticalPathMillis\":")
+                .append(JsonUtils.millis(criticalPathNanos)).append("}}").toString();
+    }
+
+    private static void logTable(String title, boolean deferredOnly)
+    {
+        List<String> rows = new ArrayList<>();
+
+        for (Span span : getSpans())
+        {
+            if (span.deferred() != deferredOnly) continue;
+
+            rows.add(span.phase());
+            rows.add(String.format(Locale.ROOT, "%s мс (с +%s мс, поток %s%s)",
+                    JsonUtils.millis(span.durationNanos()),
+                    JsonUtils.millis(span.startNanos() - originNanos),
+                    span.threadName(),
+                    span.deferred() ? ", отложено" : ""));
+        }
+
+        LoggerUtils.stats(title, rows.toArray(new String[0]));
+    }
+
+    private static void writeTrace(File traceFile)
+    {
+        if (traceFile == null) return;
+
+        try
+        {
+            File parent = traceFile.getParentFile();
+            if (parent != null && !parent.exists()) parent.mkdirs();
+
+            Files.writeString(traceFile.toPath(), toJson(), StandardCharsets.UTF_8);
+            LoggerUtils.debug("Трасса запуска сохранена: " + traceFile.getPath());
+        }
+        catch (IOException exception)
+        {
+            LoggerUtils.warning("Не удалось сохранить трассу запуска: " + exception.getMessage());
+        }
+    }
+
+    private static String micros(long nanos)
+    {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000.0);
+    }
+
+    public record Span(String phase, long startNanos, long durationNanos, long threadId, String threadName, boolean deferred)
+    {
+    }
+}
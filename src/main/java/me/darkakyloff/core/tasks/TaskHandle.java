@@ -0,0 +1,109 @@
+package me.darkakyloff.core.tasks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public abstract class TaskHandle
+{
+    private static final int ACTIVE = 0;
+    private static final int CANCELLED = 1;
+    private static final int COMPLETED = 2;
+
+    private final AsyncTaskScheduler scheduler;
+    private final long id;
+    private final String label;
+    private final boolean repeating;
+    private final TaskStats stats;
+    private final String owner;
+
+    private final AtomicInteger state = new AtomicInteger(ACTIVE);
+    private volatile long nextRunNanos;
+
+    TaskHandle(AsyncTaskScheduler scheduler, long id, String label, boolean repeating, TaskStats stats, String owner)
+    {
+        this.scheduler = scheduler;
+        this.id = id;
+        this.label = label;
+        this.repeating = repeating;
+        this.stats = stats;
+        this.owner = owner;
+    }
+
+    public long getId()
+    {
+        return id;
+    }
+
+    public String getLabel()
+    {
+        return label;
+    }
+
+    public boolean isRepeating()
+    {
+        return repeating;
+    }
+
+    public TaskStats getStats()
+    {
+        return stats;
+    }
+
+    public String getOwner()
+    {
+        return owner;
+    }
+
+    public boolean cancel()
+    {
+        if (!state.compareAndSet(ACTIVE, CANCELLED)) return false;
+
+        cancelInternal();
+        scheduler.unregister(this);
+
+        return true;
+    }
+
+    public boolean isActive()
+    {
+        return state.get() == ACTIVE;
+    }
+
+    public boolean isCancelled()
+    {
+        return state.get() == CANCELLED;
+    }
+
+    public long nextRunAt()
+    {
+        if (!isActive()) return -1;
+
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(nextRunNanos - System.nanoTime());
+        return System.currentTimeMillis() + Math.max(0, remainingMillis);
+    }
+
+    abstract void cancelInternal();
+
+    void setNextRunNanos(long nextRunNanos)
+    {
+        this.nextRunNanos = nextRunNanos;
+    }
+
+    long getNextRunNanos()
+    {
+        return nextRunNanos;
+    }
+
+    void markCompleted()
+    {
+        if (!state.compareAndSet(ACTIVE, COMPLETED)) return;
+
+        scheduler.unregister(this);
+    }
+
+    @Override
+    public String toString()
+    {
+        return (label != null ? label : "task") + "#" + id;
+    }
+}
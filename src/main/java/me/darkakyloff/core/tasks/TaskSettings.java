@@ -0,0 +1,19 @@
+package me.darkakyloff.core.tasks;
+
+import me.darkakyloff.core.api.config.ConfigKey;
+import me.darkakyloff.core.api.config.annotations.ConfigValue;
+
+public record TaskSettings(
+        @ConfigValue(path = "max-threads", defaultValue = "8", min = 1, max = 256) int maxThreads,
+        @ConfigValue(path = "timer.tick-millis", defaultValue = "5", min = 1, max = 1000) int timerTickMillis,
+        @ConfigValue(path = "timer.wheel-size", defaultValue = "512", min = 2) int timerWheelSize,
+        @ConfigValue(path = "system-tasks.health-check", defaultValue = "120", min = 1) int healthCheckInterval,
+        @ConfigValue(path = "system-tasks.stats-collection", defaultValue = "600", min = 1) int statsCollectionInterval,
+        @ConfigValue(path = "main-thread-budget-micros", defaultValue = "2000", min = 100) long mainThreadBudgetMicros,
+        @ConfigValue(path = "slow-threshold.sync-micros", defaultValue = "5000", min = 0) long syncSlowThresholdMicros,
+        @ConfigValue(path = "slow-threshold.async-micros", defaultValue = "500000", min = 0) long asyncSlowThresholdMicros,
+        @ConfigValue(path = "stats.max-labels", defaultValue = "512", min = 16) int maxTrackedLabels,
+        @ConfigValue(path = "profiler.enabled", defaultValue = "true") boolean profilerEnabled)
+{
+    public static final ConfigKey<TaskSettings> KEY = ConfigKey.bind("settings.yml", "tasks", TaskSettings.class);
+}
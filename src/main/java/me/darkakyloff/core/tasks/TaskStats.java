@@ -0,0 +1,170 @@
+package me.darkakyloff.core.tasks;
+
+import me.darkakyloff.core.utils.JsonUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TaskStats
+{
+    private static final int BUCKET_COUNT = 64;
+
+    private final String label;
+    private final boolean sync;
+    private final LongAdder runCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder overrunCount = new LongAdder();
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private volatile long lastNanos;
+    private volatile long lastSlowReport;
+
+    TaskStats(String label, boolean sync)
+    {
+        this.label = label;
+        this.sync = sync;
+    }
+
+    boolean record(long nanos, boolean failed, long periodNanos, long slowThresholdNanos)
+    {
+        runCount.increment();
+        totalNanos.add(nanos);
+        buckets.incrementAndGet(BUCKET_COUNT - Long.numberOfLeadingZeros(Math.max(1, nanos)) - 1);
+        lastNanos = nanos;
+
+        long currentMax = maxNanos.get();
+        while (nanos > currentMax && !maxNanos.compareAndSet(currentMax, nanos))
+        {
+            currentMax = maxNanos.get();
+        }
+
+        if (failed) failureCount.increment();
+        if (periodNanos > 0 && nanos > periodNanos) overrunCount.increment();
+
+        if (nanos < slowThresholdNanos) return false;
+
+        slowCount.increment();
+
+        long now = System.nanoTime();
+        if (now - lastSlowReport < 60_000_000_000L) return false;
+
+        lastSlowReport = now;
+        return true;
+    }
+
+    void reset()
+    {
+        runCount.reset();
+        failureCount.reset();
+        overrunCount.reset();
+        slowCount.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        lastNanos = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            buckets.set(i, 0);
+        }
+    }
+
+    public String getLabel()
+    {
+        return label;
+    }
+
+    public boolean isSync()
+    {
+        return sync;
+    }
+
+    public long getRunCount()
+    {
+        return runCount.sum();
+    }
+
+    public long getFailureCount()
+    {
+        return failureCount.sum();
+    }
+
+    public long getOverrunCount()
+    {
+        return overrunCount.sum();
+    }
+
+    public long getSlowCount()
+    {
+        return slowCount.sum();
+    }
+
+    public long getTotalNanos()
+    {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos()
+    {
+        return maxNanos.get();
+    }
+
+    public long getLastNanos()
+    {
+        return lastNanos;
+    }
+
+    public long getAverageNanos()
+    {
+        long runs = getRunCount();
+        return runs > 0 ? getTotalNanos() / runs : 0;
+    }
+
+    public long getPercentileNanos(double percentile)
+    {
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0) return 0;
+
+        long threshold = (long) Math.ceil(total * Math.min(1.0, Math.max(0.0, percentile)));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            seen += snapshot[i];
+
+            if (seen >= Math.max(1, threshold))
+            {
+                return Math.min(getMaxNanos(), i >= 62 ? Long.MAX_VALUE : (2L << i) - 1);
+            }
+        }
+
+        return getMaxNanos();
+    }
+
+    public String toJson()
+    {
+        return "{\"label\":" + JsonUtils.quote(label) +
+                ",\"sync\":" + sync +
+                ",\"runs\":" + getRunCount() +
+                ",\"failures\":" + getFailureCount() +
+                ",\"overruns\":" + getOverrunCount() +
+                ",\"slow\":" + getSlowCount() +
+                ",\"totalMs\":" + JsonUtils.millis(getTotalNanos()) +
+                ",\"avgMs\":" + JsonUtils.millis(getAverageNanos()) +
+                ",\"p50Ms\":" + JsonUtils.millis(getPercentileNanos(0.5)) +
+                ",\"p99Ms\":" + JsonUtils.millis(getPercentileNanos(0.99)) +
+                ",\"maxMs\":" + JsonUtils.millis(getMaxNanos()) +
+                ",\"lastMs\":" + JsonUtils.millis(getLastNanos()) + "}";
+    }
+}
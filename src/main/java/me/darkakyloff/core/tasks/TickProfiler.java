@@ -0,0 +1,266 @@
+package me.darkakyloff.core.tasks;
+
+import me.darkakyloff.core.utils.JsonUtils;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TickProfiler
+{
+    public static final String DEFAULT_OWNER = "Core";
+
+    private static final int WINDOW_SECONDS = 300;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int[] REPORT_WINDOWS = {1, 60, 300};
+
+    private static final Map<String, Slot[]> slots = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = true;
+    private static String currentOwner = null;
+
+    public enum Category
+    {
+        SYNC_TASK("Синхронные задачи"),
+        COMMAND("Команды"),
+        MESSAGE("Сообщения"),
+        PLACEHOLDER("Плейсхолдеры");
+
+        private final String displayName;
+
+        Category(String displayName)
+        {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName()
+        {
+            return displayName;
+        }
+    }
+
+    public static void setEnabled(boolean value)
+    {
+        enabled = value;
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static long start()
+    {
+        return enabled && Bukkit.isPrimaryThread() ? System.nanoTime() : 0L;
+    }
+
+    public static void finish(Category category, long start)
+    {
+        finish(currentOwner, category, start);
+    }
+
+    public static void finish(String owner, Category category, long start)
+    {
+        if (start == 0L) return;
+
+        long now = System.nanoTime();
+        slotFor(owner, category).add(Math.floorDiv(now, NANOS_PER_SECOND), now - start);
+    }
+
+    public static void record(String owner, Category category, long end, long nanos)
+    {
+        if (!enabled || !Bukkit.isPrimaryThread()) return;
+
+        slotFor(owner, category).add(Math.floorDiv(end, NANOS_PER_SECOND), nanos);
+    }
+
+    public static String enter(String owner)
+    {
+        if (!Bukkit.isPrimaryThread()) return null;
+
+        String previous = currentOwner;
+        currentOwner = owner;
+        return previous;
+    }
+
+    public static void exit(String previous)
+    {
+        if (!Bukkit.isPrimaryThread()) return;
+
+        currentOwner = previous;
+    }
+
+    public static String getCurrentOwner()
+    {
+        return Bukkit.isPrimaryThread() ? currentOwner : null;
+    }
+
+    public static void reset()
+    {
+        slots.clear();
+    }
+
+    public static List<String> getOwners()
+    {
+        return new ArrayList<>(slots.keySet());
+    }
+
+    public static double getMillisPerTick(String owner, Category category, int windowSeconds)
+    {
+        Slot[] ownerSlots = slots.get(owner);
+
+        if (ownerSlots == null) return 0;
+
+        long currentSecond = Math.floorDiv(System.nanoTime(), NANOS_PER_SECOND);
+        long nanos = ownerSlots[category.ordinal()].sumNanos(currentSecond, windowSeconds);
+
+        return nanos / 1_000_000.0 / (windowSeconds * 20.0);
+    }
+
+    public static long getCalls(String owner, Category category, int windowSeconds)
+    {
+        Slot[] ownerSlots = slots.get(owner);
+
+        if (ownerSlots == null) return 0;
+
+        long currentSecond = Math.floorDiv(System.nanoTime(), NANOS_PER_SECOND);
+        return ownerSlots[category.ordinal()].sumCalls(currentSecond, windowSeconds);
+    }
+
+    public static String toJson()
+    {
+        StringBuilder json = new StringBuilder("{\"unit\":\"ms/tick\",\"owners\":[");
+        boolean firstOwner = true;
+
+        for (String owner : getOwners())
+        {
+            if (!firstOwner) json.append(',');
+            firstOwner = false;
+
+            json.append("{\"owner\":").append(JsonUtils.quote(owner)).append(",\"categories\":{");
+
+            boolean firstCategory = true;
+
+            for (Category category : Category.values())
+            {
+                if (!firstCategory) json.append(',');
+                firstCategory = false;
+
+                json.append('"').append(category.name()).append("\":{");
+
+                for (int window : REPORT_WINDOWS)
+                {
+                    json.append('"').append(formatWindow(window)).append("\":")
+                            .append(String.format(Locale.ROOT, "%.4f", getMillisPerTick(owner, category, window)))
+                            .append(',');
+                }
+
+                json.append("\"calls5m\":").append(getCalls(owner, category, WINDOW_SECONDS)).append('}');
+            }
+
+            json.append("}}");
+        }
+
+        return json.append("]}").toString();
+    }
+
+    public static String formatWindow(int windowSeconds)
+    {
+        return windowSeconds >= 60 ? (windowSeconds / 60) + "m" : windowSeconds + "s";
+    }
+
+    public static int[] getReportWindows()
+    {
+        return REPORT_WINDOWS.clone();
+    }
+
+    private static Slot slotFor(String owner, Category category)
+    {
+        String key = owner != null ? owner : DEFAULT_OWNER;
+        Slot[] ownerSlots = slots.get(key);
+
+        if (ownerSlots == null)
+        {
+            ownerSlots = slots.computeIfAbsent(key, k ->
+            {
+                Slot[] created = new Slot[Category.values().length];
+
+                for (int i = 0; i < created.length; i++)
+                {
+                    created[i] = new Slot();
+                }
+
+                return created;
+            });
+        }
+
+        return ownerSlots[category.ordinal()];
+    }
+
+    private static final class Slot
+    {
+        private final long[] nanos = new long[WINDOW_SECONDS];
+        private final int[] calls = new int[WINDOW_SECONDS];
+
+        private long lastSecond = Long.MIN_VALUE;
+
+        private void add(long second, long elapsed)
+        {
+            if (second != lastSecond)
+            {
+                advance(second);
+            }
+
+            int index = (int) Math.floorMod(second, (long) WINDOW_SECONDS);
+            nanos[index] += elapsed;
+            calls[index]++;
+        }
+
+        private void advance(long second)
+        {
+            long gap = lastSecond == Long.MIN_VALUE ? WINDOW_SECONDS : Math.min(WINDOW_SECONDS, second - lastSecond);
+
+            for (long s = second - gap + 1; s <= second; s++)
+            {
+                int index = (int) Math.floorMod(s, (long) WINDOW_SECONDS);
+                nanos[index] = 0;
+                calls[index] = 0;
+            }
+
+            lastSecond = second;
+        }
+
+        private long sumNanos(long currentSecond, int windowSeconds)
+        {
+            long total = 0;
+            long last = lastSecond;
+
+            for (long s = currentSecond - windowSeconds; s < currentSecond; s++)
+            {
+                if (s > last || s <= last - WINDOW_SECONDS) continue;
+
+                total += nanos[(int) Math.floorMod(s, (long) WINDOW_SECONDS)];
+            }
+
+            return total;
+        }
+
+        private long sumCalls(long currentSecond, int windowSeconds)
+        {
+            long total = 0;
+            long last = lastSecond;
+
+            for (long s = currentSecond - windowSeconds; s < currentSecond; s++)
+            {
+                if (s > last || s <= last - WINDOW_SECONDS) continue;
+
+                total += calls[(int) Math.floorMod(s, (long) WINDOW_SECONDS)];
+            }
+
+            return total;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package me.darkakyloff.core.utils;
+
+public class ColorUtils
+{
+    private static final String[] LEGACY_TAGS = new String[128];
+
+    static
+    {
+        LEGACY_TAGS['0'] = "<black>";
+        LEGACY_TAGS['1'] = "<dark_blue>";
+        LEGACY_TAGS['2'] = "<dark_green>";
+        LEGACY_TAGS['3'] = "<dark_aqua>";
+        LEGACY_TAGS['4'] = "<dark_red>";
+        LEGACY_TAGS['5'] = "<dark_purple>";
+        LEGACY_TAGS['6'] = "<gold>";
+        LEGACY_TAGS['7'] = "<gray>";
+        LEGACY_TAGS['8'] = "<dark_gray>";
+        LEGACY_TAGS['9'] = "<blue>";
+        LEGACY_TAGS['a'] = "<green>";
+        LEGACY_TAGS['b'] = "<aqua>";
+        LEGACY_TAGS['c'] = "<red>";
+        LEGACY_TAGS['d'] = "<light_purple>";
+        LEGACY_TAGS['e'] = "<yellow>";
+        LEGACY_TAGS['f'] = "<white>";
+        LEGACY_TAGS['k'] = "<obfuscated>";
+        LEGACY_TAGS['l'] = "<bold>";
+        LEGACY_TAGS['m'] = "<strikethrough>";
+        LEGACY_TAGS['n'] = "<underlined>";
+        LEGACY_TAGS['o'] = "<italic>";
+        LEGACY_TAGS['r'] = "<reset>";
+    }
+
+    public static String legacyToMiniMessage(String message)
+    {
+        if (message == null) return null;
+
+        int length = message.length();
+        int first = indexOfCode(message);
+
+        if (first < 0) return message;
+
+        StringBuilder result = new StringBuilder(length + 32);
+        result.append(message, 0, first);
+
+        int i = first;
+
+        while (i < length)
+        {
+            char current = message.charAt(i);
+
+            if ((current == '&' || current == '§') && i + 1 < length)
+            {
+                char code = Character.toLowerCase(message.charAt(i + 1));
+
+                if (code == '#' && isHex(message, i + 2, 6, 1))
+                {
+                    result.append("<#").append(message, i + 2, i + 8).append('>');
+                    i += 8;
+                    continue;
+                }
+
+                if (code == 'x' && isHex(message, i + 3, 6, 2) && isRepeatedPrefix(message, i + 2, current))
+                {
+                    result.append("<#");
+
+                    for (int j = 0; j < 6; j++)
+                    {
+                        result.append(message.charAt(i + 3 + j * 2));
+                    }
+
+                    result.append('>');
+                    i += 14;
+                    continue;
+                }
+
+                if (code < LEGACY_TAGS.length && LEGACY_TAGS[code] != null)
+                {
+                    result.append(LEGACY_TAGS[code]);
+                    i += 2;
+                    continue;
+                }
+            }
+
+            result.append(current);
+            i++;
+        }
+
+        return result.toString();
+    }
+
+    private static int indexOfCode(String message)
+    {
+        for (int i = 0; i < message.length(); i++)
+        {
+            char current = message.charAt(i);
+
+            if (current == '&' || current == '§') return i;
+        }
+
+        return -1;
+    }
+
+    private static boolean isHex(String message, int from, int count, int step)
+    {
+        if (from + (count - 1) * step >= message.length()) return false;
+
+        for (int j = 0; j < count; j++)
+        {
+            if (Character.digit(message.charAt(from + j * step), 16) < 0) return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isRepeatedPrefix(String message, int from, char prefix)
+    {
+        for (int j = 0; j < 6; j++)
+        {
+            if (message.charAt(from + j * 2) != prefix) return false;
+        }
+
+        return true;
+    }
+}
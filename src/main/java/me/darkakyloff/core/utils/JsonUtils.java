@@ -0,0 +1,44 @@
+package me.darkakyloff.core.utils;
+
+public class JsonUtils
+{
+    public static String quote(String value)
+    {
+        if (value == null) return "null";
+
+        StringBuilder builder = new StringBuilder(value.length() + 2);
+        builder.append('"');
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+
+            switch (c)
+            {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default ->
+                {
+                    if (c < 0x20)
+                    {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    }
+                    else
+                    {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+
+    public static String millis(long nanos)
+    {
+        return String.format(java.util.Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
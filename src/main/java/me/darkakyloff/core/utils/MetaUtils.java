@@ -1,6 +1,7 @@
 package me.darkakyloff.core.utils;
 
 import me.darkakyloff.core.CorePlugin;
+import me.darkakyloff.core.tasks.TaskHandle;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
 
@@ -9,7 +10,7 @@ import java.util.Map;
 
 public class MetaUtils
 {
-    private static final Map<Player, Map<String, String>> taskMap = new HashMap<>();
+    private static final Map<Player, Map<String, TaskHandle>> taskMap = new HashMap<>();
 
     public static void setTempMeta(Player player, boolean notify, String data, String value, long seconds)
     {
@@ -23,13 +24,13 @@ public class MetaUtils
 
         player.setMetadata(data, new FixedMetadataValue(CorePlugin.getInstance(), value));
 
-        String taskId = CorePlugin.getInstance().getTaskScheduler().scheduleAsync(
+        TaskHandle task = CorePlugin.getInstance().getTaskScheduler().scheduleAsync(
             "meta-remove-" + player.getName() + "-" + data,
             () -> removeMeta(player, data, notify),
             seconds * 20
         );
 
-        taskMap.computeIfAbsent(player, task -> new HashMap<>()).put(data, taskId);
+        taskMap.computeIfAbsent(player, key -> new HashMap<>()).put(data, task);
         
         LoggerUtils.debug("Установлены временные метаданные для " + player.getName() + ": " + data + " на " + seconds + " секунд");
     }
@@ -48,7 +49,7 @@ public class MetaUtils
             SoundUtils.playError(player);
         }
 
-        Map<String, String> playerTasks = taskMap.get(player);
+        Map<String, TaskHandle> playerTasks = taskMap.get(player);
 
         if (playerTasks != null)
         {
@@ -67,15 +68,15 @@ public class MetaUtils
     {
         if (player == null || data == null) return;
 
-        Map<String, String> playerTasks = taskMap.get(player);
+        Map<String, TaskHandle> playerTasks = taskMap.get(player);
 
         if (playerTasks == null) return;
 
-        String taskId = playerTasks.get(data);
+        TaskHandle task = playerTasks.get(data);
 
-        if (taskId == null) return;
+        if (task == null) return;
 
-        CorePlugin.getInstance().getTaskScheduler().cancelTask(taskId);
+        task.cancel();
 
         playerTasks.remove(data);
 
@@ -117,13 +118,13 @@ public class MetaUtils
     {
         if (player == null) return;
 
-        Map<String, String> playerTasks = taskMap.remove(player);
+        Map<String, TaskHandle> playerTasks = taskMap.remove(player);
 
         if (playerTasks != null)
         {
-            for (String taskId : playerTasks.values())
+            for (TaskHandle task : playerTasks.values())
             {
-                CorePlugin.getInstance().getTaskScheduler().cancelTask(taskId);
+                if (task != null) task.cancel();
             }
         }
 
@@ -1,6 +1,7 @@
 package me.darkakyloff.core.utils;
 
 import me.darkakyloff.core.CorePlugin;
+import me.darkakyloff.core.api.config.ConfigKey;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -14,6 +15,8 @@ import java.util.UUID;
 public class PlayerUtils
 {
     private static final HashMap<UUID, BukkitTask> hidePlayers = new HashMap<>();
+    private static final ConfigKey<Component> VANISH_MESSAGE =
+            ConfigKey.string("localization.yml", "ESSENTIALS_VANISH", "§eВы в режиме невидимости").map(Component::text);
 
     public static void teleport(Player player, Location location, int seconds)
     {
@@ -99,9 +102,7 @@ public class PlayerUtils
         {
             if (player.isOnline())
             {
-                String vanishMessage = CorePlugin.getInstance().getConfigurationManager()
-                    .getString("localization.yml", "ESSENTIALS_VANISH", "§eВы в режиме невидимости");
-                player.sendActionBar(Component.text(vanishMessage));
+                player.sendActionBar(CorePlugin.getInstance().getConfigurationManager().get(VANISH_MESSAGE));
             }
         }, 1L, 40L);
 
@@ -0,0 +1,18 @@
+package me.darkakyloff.core.utils;
+
+import me.darkakyloff.core.api.config.ConfigKey;
+import me.darkakyloff.core.api.config.annotations.ConfigValue;
+import org.bukkit.Sound;
+
+public record SoundSettings(
+        @ConfigValue(path = "enabled", defaultValue = "true") boolean enabled,
+        @ConfigValue(path = "types.success", defaultValue = "BLOCK_NOTE_BLOCK_BELL") Sound success,
+        @ConfigValue(path = "types.error", defaultValue = "ENTITY_VILLAGER_NO") Sound error,
+        @ConfigValue(path = "types.info", defaultValue = "BLOCK_NOTE_BLOCK_COW_BELL") Sound info,
+        @ConfigValue(path = "types.warning", defaultValue = "BLOCK_NOTE_BLOCK_BASS") Sound warning,
+        @ConfigValue(path = "types.click", defaultValue = "BLOCK_STONE_BUTTON_CLICK_ON") Sound click,
+        @ConfigValue(path = "types.open", defaultValue = "BLOCK_CHEST_OPEN") Sound open,
+        @ConfigValue(path = "types.close", defaultValue = "BLOCK_CHEST_CLOSE") Sound close)
+{
+    public static final ConfigKey<SoundSettings> KEY = ConfigKey.bind("settings.yml", "sounds", SoundSettings.class);
+}
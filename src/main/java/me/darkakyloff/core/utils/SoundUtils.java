@@ -1,7 +1,8 @@
 package me.darkakyloff.core.utils;
 
 import me.darkakyloff.core.CorePlugin;
-import me.darkakyloff.core.api.config.ConfigurationManager;
+import me.darkakyloff.core.api.config.ConfigBinder;
+import me.darkakyloff.core.api.config.ConfigSnapshot;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Sound;
@@ -15,66 +16,30 @@ public class SoundUtils
 {
     private static final Map<String, Sound> soundCache = new ConcurrentHashMap<>();
 
-    private static boolean soundsEnabled = true;
+    private static final SoundSettings DEFAULT_SETTINGS = ConfigBinder.bind(ConfigSnapshot.EMPTY, "sounds", SoundSettings.class);
+
+    private static volatile Boolean soundsEnabledOverride = null;
     private static float defaultVolume = 1.0f;
     private static float defaultPitch = 1.0f;
 
-    private static Sound successSound = Sound.BLOCK_NOTE_BLOCK_BELL;
-    private static Sound errorSound = Sound.ENTITY_VILLAGER_NO;
-    private static Sound infoSound = Sound.BLOCK_NOTE_BLOCK_COW_BELL;
-    private static Sound warningSound = Sound.BLOCK_NOTE_BLOCK_BASS;
-    private static Sound clickSound = Sound.BLOCK_STONE_BUTTON_CLICK_ON;
-    private static Sound openSound = Sound.BLOCK_CHEST_OPEN;
-    private static Sound closeSound = Sound.BLOCK_CHEST_CLOSE;
-
     public static void initialize()
     {
-        loadSoundSettings();
+        if (settings() == DEFAULT_SETTINGS)
+        {
+            LoggerUtils.warning("Ошибка загрузки настроек звуков, используются дефолтные");
+        }
+
         LoggerUtils.debug("SoundUtils инициализированы");
     }
 
-    private static void loadSoundSettings()
+    private static SoundSettings settings()
     {
-        try
-        {
-            ConfigurationManager configManager = CorePlugin.getInstance().getConfigurationManager();
-
-            soundsEnabled = configManager.getBoolean("settings.yml", "sounds.enabled", true);
-
-            String successSoundName = configManager.getString("settings.yml", "sounds.types.success", "BLOCK_NOTE_BLOCK_BELL");
-            Sound sound = getSound(successSoundName);
-            if (sound != null) successSound = sound;
+        CorePlugin corePlugin = CorePlugin.getInstance();
 
-            String errorSoundName = configManager.getString("settings.yml", "sounds.types.error", "ENTITY_VILLAGER_NO");
-            sound = getSound(errorSoundName);
-            if (sound != null) errorSound = sound;
+        if (corePlugin == null || corePlugin.getConfigurationManager() == null) return DEFAULT_SETTINGS;
 
-            String infoSoundName = configManager.getString("settings.yml", "sounds.types.info", "BLOCK_NOTE_BLOCK_COW_BELL");
-            sound = getSound(infoSoundName);
-            if (sound != null) infoSound = sound;
-
-            String warningSoundName = configManager.getString("settings.yml", "sounds.types.warning", "BLOCK_NOTE_BLOCK_BASS");
-            sound = getSound(warningSoundName);
-            if (sound != null) warningSound = sound;
-
-            String clickSoundName = configManager.getString("settings.yml", "sounds.types.click", "BLOCK_STONE_BUTTON_CLICK_ON");
-            sound = getSound(clickSoundName);
-            if (sound != null) clickSound = sound;
-
-            String openSoundName = configManager.getString("settings.yml", "sounds.types.open", "BLOCK_CHEST_OPEN");
-            sound = getSound(openSoundName);
-            if (sound != null) openSound = sound;
-
-            String closeSoundName = configManager.getString("settings.yml", "sounds.types.close", "BLOCK_CHEST_CLOSE");
-            sound = getSound(closeSoundName);
-            if (sound != null) closeSound = sound;
-
-            LoggerUtils.debug("Настройки звуков загружены из конфигурации");
-        }
-        catch (Exception exception)
-        {
-            LoggerUtils.warning("Ошибка загрузки настроек звуков, используются дефолтные");
-        }
+        SoundSettings current = corePlugin.getConfigurationManager().get(SoundSettings.KEY);
+        return current != null ? current : DEFAULT_SETTINGS;
     }
 
     public static void play(CommandSender sender, Sound sound)
@@ -84,7 +49,7 @@ public class SoundUtils
 
     public static void play(CommandSender sender, Sound sound, float volume, float pitch)
     {
-        if (!soundsEnabled || sound == null)
+        if (!areSoundsEnabled() || sound == null)
         {
             return;
         }
@@ -103,7 +68,7 @@ public class SoundUtils
 
     public static void play(Location location, Sound sound, float volume, float pitch)
     {
-        if (!soundsEnabled || sound == null || location == null || location.getWorld() == null)
+        if (!areSoundsEnabled() || sound == null || location == null || location.getWorld() == null)
         {
             return;
         }
@@ -118,7 +83,7 @@ public class SoundUtils
 
     public static void broadcast(Sound sound, float volume, float pitch)
     {
-        if (!soundsEnabled || sound == null) return;
+        if (!areSoundsEnabled() || sound == null) return;
 
         for (Player player : Bukkit.getOnlinePlayers())
         {
@@ -128,37 +93,37 @@ public class SoundUtils
 
     public static void playSuccess(CommandSender sender)
     {
-        play(sender, successSound);
+        play(sender, settings().success());
     }
 
     public static void playError(CommandSender sender)
     {
-        play(sender, errorSound);
+        play(sender, settings().error());
     }
 
     public static void playInfo(CommandSender sender)
     {
-        play(sender, infoSound);
+        play(sender, settings().info());
     }
 
     public static void playWarning(CommandSender sender)
     {
-        play(sender, warningSound);
+        play(sender, settings().warning());
     }
 
     public static void playClick(CommandSender sender)
     {
-        play(sender, clickSound);
+        play(sender, settings().click());
     }
 
     public static void playOpen(CommandSender sender)
     {
-        play(sender, openSound);
+        play(sender, settings().open());
     }
 
     public static void playClose(CommandSender sender)
     {
-        play(sender, closeSound);
+        play(sender, settings().close());
     }
 
     public static Sound getSound(String soundName)
@@ -189,13 +154,14 @@ public class SoundUtils
 
     public static void setSoundsEnabled(boolean enabled)
     {
-        soundsEnabled = enabled;
+        soundsEnabledOverride = enabled;
         LoggerUtils.debug("Звуки " + (enabled ? "включены" : "отключены"));
     }
 
     public static boolean areSoundsEnabled()
     {
-        return soundsEnabled;
+        Boolean override = soundsEnabledOverride;
+        return override != null ? override : settings().enabled();
     }
 
     public static void setDefaultVolume(float volume)
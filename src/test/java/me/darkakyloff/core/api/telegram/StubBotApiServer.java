@@ -0,0 +1,168 @@
+package me.darkakyloff.core.api.telegram;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class StubBotApiServer implements AutoCloseable
+{
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger remainingFailures;
+    private final AtomicInteger messageIds;
+    private final List<Long> getMeCalls;
+    private final List<String> sentTexts;
+
+    StubBotApiServer(int failuresBeforeReady) throws IOException
+    {
+        this.remainingFailures = new AtomicInteger(failuresBeforeReady);
+        this.messageIds = new AtomicInteger();
+        this.getMeCalls = new CopyOnWriteArrayList<>();
+        this.sentTexts = new CopyOnWriteArrayList<>();
+
+        this.executor = Executors.newCachedThreadPool(runnable ->
+        {
+            Thread thread = new Thread(runnable, "Stub-Bot-Api");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    String getApiUrl()
+    {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/bot";
+    }
+
+    void setReady()
+    {
+        remainingFailures.set(0);
+    }
+
+    List<Long> getMeCalls()
+    {
+        return new ArrayList<>(getMeCalls);
+    }
+
+    List<String> getSentTexts()
+    {
+        return new ArrayList<>(sentTexts);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        String path = exchange.getRequestURI().getPath();
+        String method = path.substring(path.lastIndexOf('/') + 1);
+        Map<String, String> params = readParams(exchange);
+
+        switch (method)
+        {
+            case "getMe" -> handleGetMe(exchange);
+            case "sendMessage" -> handleSendMessage(exchange, params);
+            case "getUpdates" -> handleGetUpdates(exchange);
+            default -> respond(exchange, "{\"ok\":false,\"error_code\":404,\"description\":\"Not Found\"}");
+        }
+    }
+
+    private void handleGetMe(HttpExchange exchange) throws IOException
+    {
+        getMeCalls.add(System.nanoTime());
+
+        if (remainingFailures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0)
+        {
+            respond(exchange, "{\"ok\":false,\"error_code\":502,\"description\":\"Bad Gateway\"}");
+            return;
+        }
+
+        respond(exchange, "{\"ok\":true,\"result\":{\"id\":1,\"is_bot\":true,\"first_name\":\"Stub\",\"username\":\"stub_bot\"}}");
+    }
+
+    private void handleSendMessage(HttpExchange exchange, Map<String, String> params) throws IOException
+    {
+        String text = params.getOrDefault("text", "");
+        sentTexts.add(text);
+
+        respond(exchange, "{\"ok\":true,\"result\":{\"message_id\":" + messageIds.incrementAndGet() +
+                ",\"date\":0,\"chat\":{\"id\":" + params.getOrDefault("chat_id", "0") +
+                ",\"type\":\"private\"},\"text\":\"" + text.replace("\"", "\\\"") + "\"}}");
+    }
+
+    private void handleGetUpdates(HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            Thread.sleep(100);
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        respond(exchange, "{\"ok\":true,\"result\":[]}");
+    }
+
+    private Map<String, String> readParams(HttpExchange exchange) throws IOException
+    {
+        Map<String, String> params = new HashMap<>();
+        String body;
+
+        try (InputStream input = exchange.getRequestBody())
+        {
+            body = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        String query = exchange.getRequestURI().getRawQuery();
+        String encoded = query != null && !query.isEmpty() ? query + "&" + body : body;
+
+        for (String pair : encoded.split("&"))
+        {
+            int separator = pair.indexOf('=');
+
+            if (separator <= 0) continue;
+
+            params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+
+        return params;
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException
+    {
+        byte[] response = json.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, response.length);
+
+        try (OutputStream output = exchange.getResponseBody())
+        {
+            output.write(response);
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,144 @@
+package me.darkakyloff.core.api.telegram;
+
+import me.darkakyloff.core.modules.ModuleResourceRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TelegramServiceTest
+{
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private StubBotApiServer server;
+    private TelegramService service;
+    private final List<String> transitions = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp()
+    {
+        transitions.clear();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        if (service != null) service.shutdown(1000);
+        if (server != null) server.close();
+    }
+
+    @Test
+    void connectsAfterFailedAttemptsWithBackoff() throws Exception
+    {
+        startService(2, 50, 400, 10);
+
+        awaitCondition(() -> service.getState() == TelegramState.CONNECTED);
+
+        assertEquals(3, service.getConnectAttempts());
+        assertEquals(List.of("STOPPED->CONNECTING", "CONNECTING->CONNECTED"), transitions);
+
+        List<Long> calls = server.getMeCalls();
+        assertEquals(3, calls.size());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(calls.get(1) - calls.get(0)) >= 40);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(calls.get(2) - calls.get(1)) >= 90);
+    }
+
+    @Test
+    void queuedMessagesAreSentOnConnect() throws Exception
+    {
+        startService(Integer.MAX_VALUE, 20, 50, 10);
+
+        CompletableFuture<Integer> first = service.sendMessage(1L, "first");
+        CompletableFuture<Integer> second = service.sendMessage(1L, "second");
+
+        assertEquals(TelegramState.CONNECTING, service.getState());
+        assertEquals(2, service.getQueuedMessageCount());
+        assertFalse(first.isDone());
+
+        server.setReady();
+
+        assertNotNull(first.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertNotNull(second.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(0, service.getQueuedMessageCount());
+        assertEquals(2, server.getSentTexts().size());
+        assertTrue(server.getSentTexts().containsAll(List.of("first", "second")));
+    }
+
+    @Test
+    void queueOverflowDropsOldestMessage() throws Exception
+    {
+        startService(Integer.MAX_VALUE, 20, 50, 2);
+
+        CompletableFuture<Integer> oldest = service.sendMessage(1L, "oldest");
+        CompletableFuture<Integer> middle = service.sendMessage(1L, "middle");
+        CompletableFuture<Integer> newest = service.sendMessage(1L, "newest");
+
+        assertTrue(oldest.isDone());
+        assertNull(oldest.get());
+        assertEquals(2, service.getQueuedMessageCount());
+
+        server.setReady();
+
+        assertNotNull(middle.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertNotNull(newest.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(2, server.getSentTexts().size());
+        assertFalse(server.getSentTexts().contains("oldest"));
+    }
+
+    @Test
+    void shutdownCompletesQueuedFutures() throws Exception
+    {
+        startService(Integer.MAX_VALUE, 20, 50, 10);
+
+        CompletableFuture<Integer> first = service.sendMessage(1L, "first");
+        CompletableFuture<Integer> second = service.sendMessage(1L, "second");
+
+        int dropped = service.shutdown(1000);
+        service = null;
+
+        assertEquals(2, dropped);
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertNull(first.get());
+        assertNull(second.get());
+        assertTrue(server.getSentTexts().isEmpty());
+        assertEquals("CONNECTING->STOPPED", transitions.get(transitions.size() - 1));
+    }
+
+    private void startService(int failuresBeforeReady, long initialBackoff, long maxBackoff, int maxQueued) throws IOException
+    {
+        server = new StubBotApiServer(failuresBeforeReady);
+        service = new TelegramService("123:stub", server.getApiUrl());
+        service.setReconnectBackoff(initialBackoff, maxBackoff);
+        service.setMaxQueuedMessages(maxQueued);
+
+        ModuleResourceRegistry.runAs(null, () ->
+                service.addStateListener((previous, current) -> transitions.add(previous.name() + "->" + current.name())));
+
+        assertTrue(service.initialize());
+    }
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+
+        while (!condition.getAsBoolean())
+        {
+            if (System.nanoTime() > deadline) throw new AssertionError("Условие не выполнено за " + TIMEOUT_MILLIS + " мс");
+
+            Thread.sleep(10);
+        }
+    }
+}
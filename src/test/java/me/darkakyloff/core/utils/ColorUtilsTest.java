@@ -0,0 +1,117 @@
+package me.darkakyloff.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ColorUtilsTest
+{
+    static final List<String> LOCALIZATION_LINES = List.of(
+            "&cНедостаточно прав: <permission>",
+            "&cКоманда доступна только игрокам",
+            "&7[&6Core&7] &aМодуль &e<module> &aперезагружен",
+            "&l&6Задачи: &fактивных <active>&r, в очереди &7<queue>",
+            "&kxx&r &dСекрет &5&oкурсив &nподчеркнутый &mзачеркнутый",
+            "&0&1&2&3&4&5&6&7&8&9&a&b&c&d&e&f",
+            "Цена 5& за штуку &&a",
+            "Текст без кодов",
+            "&zнеизвестный код и &#12345Gневерный hex",
+            "&");
+
+    @Test
+    void matchesLegacyReplaceChainOnLowercaseAmpersandCodes()
+    {
+        for (String line : LOCALIZATION_LINES)
+        {
+            assertEquals(legacyReplaceChain(line), ColorUtils.legacyToMiniMessage(line), line);
+        }
+    }
+
+    @Test
+    void returnsSameInstanceWithoutCodes()
+    {
+        String message = "<red>Уже MiniMessage";
+
+        assertSame(message, ColorUtils.legacyToMiniMessage(message));
+        assertNull(ColorUtils.legacyToMiniMessage(null));
+    }
+
+    @Test
+    void translatesMixedCaseCodes()
+    {
+        assertEquals("<green>Привет <bold>жирный<reset>", ColorUtils.legacyToMiniMessage("&AПривет &Lжирный&R"));
+    }
+
+    @Test
+    void translatesSectionSignCodes()
+    {
+        assertEquals("<red>Ошибка <gray>(<yellow>1<gray>)", ColorUtils.legacyToMiniMessage("§cОшибка §7(§e1§7)"));
+    }
+
+    @Test
+    void translatesAmpersandHex()
+    {
+        assertEquals("<#FFaa00>Золото", ColorUtils.legacyToMiniMessage("&#FFaa00Золото"));
+        assertEquals("<#00ff00>ok", ColorUtils.legacyToMiniMessage("§#00ff00ok"));
+    }
+
+    @Test
+    void translatesBukkitHexForm()
+    {
+        assertEquals("<#FFAA00>Текст", ColorUtils.legacyToMiniMessage("§x§F§F§A§A§0§0Текст"));
+        assertEquals("<#ffaa00>T", ColorUtils.legacyToMiniMessage("&x&f&f&a&a&0&0T"));
+    }
+
+    @Test
+    void leavesMixedPrefixBukkitHexAsPlainCodes()
+    {
+        assertEquals("§x<white><white><green><green><black><black>T", ColorUtils.legacyToMiniMessage("§x&F&F&A&A&0&0T"));
+        assertEquals("§x<white><white>", ColorUtils.legacyToMiniMessage("§x§F§F"));
+    }
+
+    @Test
+    void keepsTrailingPrefix()
+    {
+        assertEquals("Цена 5&", ColorUtils.legacyToMiniMessage("Цена 5&"));
+        assertEquals("&", ColorUtils.legacyToMiniMessage("&"));
+        assertEquals("§", ColorUtils.legacyToMiniMessage("§"));
+    }
+
+    @Test
+    void keepsInvalidHex()
+    {
+        assertEquals("&#12345GТекст", ColorUtils.legacyToMiniMessage("&#12345GТекст"));
+        assertEquals("&#fff", ColorUtils.legacyToMiniMessage("&#fff"));
+    }
+
+    static String legacyReplaceChain(String message)
+    {
+        return message
+                .replaceAll("&0", "<black>")
+                .replaceAll("&1", "<dark_blue>")
+                .replaceAll("&2", "<dark_green>")
+                .replaceAll("&3", "<dark_aqua>")
+                .replaceAll("&4", "<dark_red>")
+                .replaceAll("&5", "<dark_purple>")
+                .replaceAll("&6", "<gold>")
+                .replaceAll("&7", "<gray>")
+                .replaceAll("&8", "<dark_gray>")
+                .replaceAll("&9", "<blue>")
+                .replaceAll("&a", "<green>")
+                .replaceAll("&b", "<aqua>")
+                .replaceAll("&c", "<red>")
+                .replaceAll("&d", "<light_purple>")
+                .replaceAll("&e", "<yellow>")
+                .replaceAll("&f", "<white>")
+                .replaceAll("&k", "<obfuscated>")
+                .replaceAll("&l", "<bold>")
+                .replaceAll("&m", "<strikethrough>")
+                .replaceAll("&n", "<underlined>")
+                .replaceAll("&o", "<italic>")
+                .replaceAll("&r", "<reset>");
+    }
+}